@@ -0,0 +1,312 @@
+package BruteForce;
+
+import Dilation.BestOrientation;
+import Dilation.DijkstraAlgorithm;
+import Dilation.OrientedDilation;
+import Dilation.PointSetGeometry;
+import GreedyEdges.Edge;
+import GreedyEdges.GreedyAlgorithm;
+import Orientation.BitOrientation;
+import Orientation.OrientationMatrix;
+import Points.Point;
+import Points.PointGenerator;
+import TwoApproximation.ApproxBrute;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class finds the orientation with the minimum oriented dilation with branch and bound.
+ * The edges are oriented one at a time, the shortest edges first. Edges which are not oriented yet are
+ * used in both directions, so the closed walks of this relaxed graph are never longer than the ones of any
+ * orientation that completes it. The max dilation of the relaxed graph is therefore a lower bound for the
+ * whole subtree, which is cut if the bound can't beat the best orientation found so far.
+ * Orienting an edge only removes one direction, so the shortest paths of a child only change in the rows
+ * whose shortest paths used the removed direction. Only these rows are recomputed with Dijkstra,
+ * the other rows of a child point to the rows of its parent. Every depth keeps its own buffers only for the rows
+ * which were recomputed there, they are allocated the first time they are needed.
+ * The solver can also complete a partial orientation, then only the edges which are not oriented yet are branched.
+ */
+public class BranchAndBound {
+    final static int INF = 99999;
+
+    //tolerance for detecting shortest paths through an edge
+    final static double EPSILON = 1e-9;
+
+    private final int numberOfPoints;
+
+    private final PointSetGeometry geometry;
+
+    //perimeters of the smallest triangle through every two points
+    private final double[][] triangles;
+
+    //the edges in the order they are oriented, shortest first, without the fixed edges
+    private final int[] starts;
+    private final int[] ends;
+    private final double[] weights;
+
+    //the directions (flat indices) which are removed by the fixed edges of a partial orientation
+    private final int[] fixedRemoved;
+
+    //flat distance matrix of the relaxed graph, undecided edges have both directions
+    private final double[] adjacencyMatrix;
+
+    //shortest paths of the relaxed graphs of both children for every depth of the search,
+    //unchanged rows point to the rows of the parent
+    private final double[][][] forwardStack;
+    private final double[][][] backwardStack;
+
+    //the own rows of both children for every depth, null until the row is recomputed the first time
+    private final double[][][] forwardRows;
+    private final double[][][] backwardRows;
+
+    private final boolean[] visited;
+
+    //the orientation of the current node, only the decided edges are meaningful
+    private final BitOrientation orientation;
+
+    private BitOrientation bestOrientation;
+    private double bestDilation;
+
+    private long visitedNodes;
+
+    /**
+     * Creates the solver and precomputes the geometry and the order of the edges.
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     */
+    public BranchAndBound(List<Point> points) {
+        this(points, OrientationMatrix.createMatrix(points));
+    }
+
+    /**
+     * Creates the solver for the completions of a partial orientation.
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     * @param orientationMatrix orientation matrix, entries (i,j) with i<j are 1 for i->j, 0 for j->i
+     *                          and INF if the edge is not oriented yet.
+     */
+    public BranchAndBound(List<Point> points, int[][] orientationMatrix) {
+        BruteForceAlgorithm.checkArguments(points);
+
+        numberOfPoints = points.size();
+        geometry = new PointSetGeometry(points);
+        triangles = geometry.getTriangles();
+        orientation = new BitOrientation(numberOfPoints);
+
+        //the fixed edges are part of every orientation of the search
+        List<Integer> removed = new ArrayList<>();
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=i+1;j<numberOfPoints;j++) {
+                if(orientationMatrix[i][j] == 1) {
+                    orientation.set(orientation.index(i,j),true);
+                    removed.add(j*numberOfPoints+i);
+                }
+                else if(orientationMatrix[i][j] == 0) {
+                    removed.add(i*numberOfPoints+j);
+                }
+            }
+        }
+        fixedRemoved = removed.stream().mapToInt(Integer::intValue).toArray();
+
+        //orient the free edges in ascending order of length
+        List<Edge> edges = new ArrayList<>();
+        for(Edge edge : GreedyAlgorithm.buildEdgesList(points)) {
+            int value = orientationMatrix[edge.getStart()][edge.getEnd()];
+            if(value != 0 && value != 1) edges.add(edge);
+        }
+        starts = new int[edges.size()];
+        ends = new int[edges.size()];
+        weights = new double[edges.size()];
+        for(int k=0;k<edges.size();k++) {
+            starts[k] = edges.get(k).getStart();
+            ends[k] = edges.get(k).getEnd();
+            weights[k] = geometry.getDistance(starts[k],ends[k]);
+        }
+
+        adjacencyMatrix = new double[numberOfPoints*numberOfPoints];
+        forwardStack = new double[edges.size()+1][numberOfPoints][];
+        backwardStack = new double[edges.size()+1][numberOfPoints][];
+        forwardRows = new double[edges.size()+1][numberOfPoints][];
+        backwardRows = new double[edges.size()+1][numberOfPoints][];
+        visited = new boolean[numberOfPoints];
+    }
+
+    /**
+     * Finds the best orientation, the search starts with the orientation of {@link ApproxBrute} as the best one.
+     * @return the orientation with the minimum oriented dilation and its dilation.
+     */
+    public BestOrientation solve() {
+        return solve(ApproxBrute.findBestOrientation(geometry.getPoints()));
+    }
+
+    /**
+     * Finds the best orientation.
+     * @param incumbent a known orientation and its dilation, only better orientations are searched.
+     *                  Its orientation may be null, then only orientations below its dilation are found.
+     * @return the orientation with the minimum oriented dilation and its dilation,
+     * the incumbent if no orientation is better.
+     */
+    public BestOrientation solve(BestOrientation incumbent) {
+        bestOrientation = incumbent.orientation() == null ? null : incumbent.orientation().copy();
+        bestDilation = incumbent.dilation();
+        visitedNodes = 0;
+
+        //the relaxed graph of the root is the complete graph with both directions of the free edges
+        double[][] distances = geometry.getDistances();
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=0;j<numberOfPoints;j++) {
+                adjacencyMatrix[i*numberOfPoints+j] = distances[i][j];
+            }
+        }
+        for(int removed : fixedRemoved) {
+            adjacencyMatrix[removed] = INF;
+        }
+
+        //the shortest paths of the root are kept in the unused first entry of the stack
+        double[][] rootDistances = forwardStack[0];
+        for(int a=0;a<numberOfPoints;a++) {
+            if(rootDistances[a] == null) rootDistances[a] = new double[numberOfPoints];
+            DijkstraAlgorithm.dijkstra(adjacencyMatrix,numberOfPoints,a,rootDistances[a],visited);
+        }
+
+        double bound = lowerBound(rootDistances);
+        if(bound < bestDilation) {
+            search(0,rootDistances,bound);
+        }
+        return new BestOrientation(bestOrientation,bestDilation);
+    }
+
+    /**
+     * @return the number of nodes of the search tree which were visited by the last call of solve.
+     */
+    public long getVisitedNodes() {
+        return visitedNodes;
+    }
+
+    /**
+     * Orients the edge with the given index in the order in both directions and searches the subtrees
+     * whose lower bound is below the best dilation, the subtree with the smaller bound first.
+     * @param distanceMatrix the shortest paths of the relaxed graph of this node.
+     * @param bound the lower bound of this node.
+     */
+    private void search(int depth, double[][] distanceMatrix, double bound) {
+        visitedNodes++;
+
+        //all edges are oriented, the relaxed graph is the orientation itself and the bound its dilation
+        if(depth == starts.length) {
+            bestDilation = bound;
+            bestOrientation = orientation.copy();
+            return;
+        }
+
+        int u = starts[depth];
+        int v = ends[depth];
+
+        //u->v removes the direction v->u and v->u removes u->v
+        double forward = child(depth,distanceMatrix,forwardStack[depth+1],forwardRows[depth+1],v,u);
+        boolean reversal = depth == 0 && fixedRemoved.length == 0;
+        double backward = reversal ? INF
+                : child(depth,distanceMatrix,backwardStack[depth+1],backwardRows[depth+1],u,v);
+
+        //the reversal of an orientation has the same dilation, so without fixed edges
+        //the first edge is only oriented forwards
+        if(reversal) {
+            descend(depth,true,forward);
+        }
+        else if(forward <= backward) {
+            descend(depth,true,forward);
+            descend(depth,false,backward);
+        }
+        else {
+            descend(depth,false,backward);
+            descend(depth,true,forward);
+        }
+    }
+
+    /**
+     * Searches the subtree of the edge with the given index oriented in one direction if its bound
+     * is still below the best dilation.
+     * @param forward true for u->v, false for v->u.
+     */
+    private void descend(int depth, boolean forward, double bound) {
+        if(bound >= bestDilation) return;
+
+        int u = starts[depth];
+        int v = ends[depth];
+        int removed = forward ? v*numberOfPoints+u : u*numberOfPoints+v;
+
+        setDirection(u,v,forward);
+        adjacencyMatrix[removed] = INF;
+
+        search(depth+1, forward ? forwardStack[depth+1] : backwardStack[depth+1], bound);
+
+        adjacencyMatrix[removed] = weights[depth];
+    }
+
+    /**
+     * Computes the shortest paths of the child where the direction from->to of the edge with the given index
+     * is removed and returns the lower bound of the child. The recomputed rows are written to the own rows
+     * of the child, the other rows point to the rows of the parent.
+     */
+    private double child(int depth, double[][] parent, double[][] child, double[][] rows, int from, int to) {
+        double weight = weights[depth];
+
+        int index = from*numberOfPoints+to;
+        adjacencyMatrix[index] = INF;
+
+        for(int a=0;a<numberOfPoints;a++) {
+            //a row changes only if a shortest path from a reaches to over the removed direction
+            if(parent[a][from] + weight <= parent[a][to] + EPSILON) {
+                if(rows[a] == null) rows[a] = new double[numberOfPoints];
+                DijkstraAlgorithm.dijkstra(adjacencyMatrix,numberOfPoints,a,rows[a],visited);
+                child[a] = rows[a];
+            }
+            else {
+                child[a] = parent[a];
+            }
+        }
+
+        adjacencyMatrix[index] = weight;
+        return lowerBound(child);
+    }
+
+    /**
+     * Calculates the max dilation of the relaxed graph, stops as soon as it reaches the best dilation.
+     */
+    private double lowerBound(double[][] distanceMatrix) {
+        double maxDilation = 0;
+
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=i+1;j<numberOfPoints;j++) {
+                double dilation = (distanceMatrix[i][j] + distanceMatrix[j][i])/triangles[i][j];
+
+                if(dilation > maxDilation) {
+                    maxDilation = dilation;
+                    if(maxDilation >= bestDilation) return maxDilation;
+                }
+            }
+        }
+        return maxDilation;
+    }
+
+    /**
+     * Sets the bit of the edge (u,v) of the current orientation, forward means u->v.
+     */
+    private void setDirection(int u, int v, boolean forward) {
+        if(u<v) orientation.set(orientation.index(u,v),forward);
+        else orientation.set(orientation.index(v,u),!forward);
+    }
+
+    public static void main(String[] args) {
+        for(int n=5;n<=12;n++) {
+            List<Point> points = PointGenerator.generateUniquePoints(n);
+
+            long start = System.nanoTime();
+            BranchAndBound solver = new BranchAndBound(points);
+            BestOrientation best = solver.solve();
+            double time = (System.nanoTime()-start)/1e6;
+
+            System.out.println("n="+n+" dilation: "+best.dilation()+" nodes: "+solver.getVisitedNodes()
+                    +" time: "+time+" ms, check: "+OrientedDilation.calculateOrientedDilation(points,best.orientation()));
+        }
+    }
+}
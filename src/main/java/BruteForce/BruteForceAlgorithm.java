@@ -1,10 +1,16 @@
 package BruteForce;
-import Dilation.OrientedDilation;
+import Dilation.BatchDilation;
+import Dilation.IncrementalDilation;
+import Orientation.BitOrientation;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
 
 import Points.Point;
+import Points.PointGenerator;
 
 
 /**
@@ -22,44 +28,128 @@ public class BruteForceAlgorithm {
     public static double bruteForce(List<Point> points) {
         checkArguments(points);
 
-        double minDilation = 99999;
-        int numberOfPoints = points.size();
+        //evaluate all valid canonical orientations over the shared geometry of the point set
+        BatchDilation batch = new BatchDilation(points);
+        SymmetryBreaker symmetry = SymmetryBreaker.detect(batch.getGeometry());
+        return batch.findBest(new CounterIterator(points.size(),symmetry)).dilation();
+    }
 
-        //calculate the length of a bit string for the point set
+    /**
+     * Performs the brute-force calculation in Gray code order. Two consecutive orientations differ in exactly
+     * one edge, so the shortest paths are updated incrementally for every flip instead of being computed again.
+     *
+     * @param points The set of points for which the calculation is performed.
+     * @return The minimum oriented dilation.
+     */
+    public static double bruteForceGrayCode(List<Point> points) {
+        checkArguments(points);
+
+        int numberOfPoints = points.size();
         int bitStringLength = calculateBitStringLength(numberOfPoints);
 
-        //calculate range for the bit counter
-        long minDecimalValue = calculateMinDecimalValue(bitStringLength, numberOfPoints);
-        long maxDecimalValue = calculateMaxDecimalValue(bitStringLength, numberOfPoints);
+        if(bitStringLength>62) {
+            throw new IllegalArgumentException("Too many points for the brute force: "+numberOfPoints);
+        }
 
-        //create an instance to check bit String
-        StringChecker checker = new StringChecker("", numberOfPoints);
+        //the vertices of every edge in the order of the bit string
+        int[] starts = new int[bitStringLength];
+        int[] ends = new int[bitStringLength];
+        int index = 0;
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=i+1;j<numberOfPoints;j++) {
+                starts[index] = i;
+                ends[index] = j;
+                index++;
+            }
+        }
 
-        //create strings
-        for (long i=minDecimalValue; i<=maxDecimalValue;i++) {
-            //convert number from the counter into bit string
-            String binaryString = Long.toBinaryString(i);
+        //create an instance to check the orientations
+        OrientationChecker checker = new OrientationChecker(numberOfPoints);
 
-            //fill string with zeroes to match expected string length
-            if(binaryString.length() < bitStringLength) {
-                binaryString = String.format("%" + bitStringLength + "s", binaryString).replace(' ', '0');
-            }
+        //the reversal of an orientation has the same dilation, so the first bit stays '1' (0->1)
+        //start with all other bits '0' and keep the shortest paths of the current orientation
+        BitOrientation start = new BitOrientation(numberOfPoints);
+        start.set(0,true);
+        IncrementalDilation evaluator = new IncrementalDilation(points, start);
+
+        double minDilation = 99999;
+        long numberOfOrientations = 1L << (bitStringLength-1);
 
-            //check if string results in a connected graph
-            checker.set(binaryString);
+        for(long step=1; step<numberOfOrientations; step++) {
+            //the Gray codes of step-1 and step differ in the lowest '1' bit of step
+            int edge = Long.numberOfTrailingZeros(step)+1;
+            evaluator.flip(starts[edge], ends[edge]);
 
-            if(checker.checkString() ) {
-                //calculate dilation
-                double dilation = OrientedDilation.calculateOrientedDilation(points,binaryString);
-                //save the smallest dilation
-                minDilation= Math.min(minDilation,dilation);
+            //check if orientation results in a connected graph
+            if(checker.check(evaluator.getOrientation())) {
+                minDilation = Math.min(minDilation, evaluator.getMaxDilation());
             }
         }
 
-       return minDilation;
-
+        return minDilation;
     }
 
+    /**
+     * This class runs the binary counter over all orientations between the canonical min and the max decimal value
+     * and returns only the orientations which pass the degree check and are canonical under the symmetries
+     * of the point set. The same orientation object is returned every time.
+     */
+    private static class CounterIterator implements Iterator<BitOrientation> {
+        private final OrientationChecker checker;
+
+        //null if the counter range already removes all symmetric orientations
+        private final SymmetryBreaker symmetry;
+
+        //the orientation is reused for every value of the counter
+        private final BitOrientation orientation;
+
+        private final long maxDecimalValue;
+
+        //the current value of the counter
+        private long value;
+
+        //true if the orientation holds a valid value which was not returned yet
+        private boolean found;
+
+        CounterIterator(int numberOfPoints, SymmetryBreaker symmetry) {
+            //calculate the length of a bit string for the point set
+            int bitStringLength = calculateBitStringLength(numberOfPoints);
+
+            //calculate range for the bit counter
+            long minDecimalValue = calculateCanonicalMinDecimalValue(bitStringLength, numberOfPoints);
+            maxDecimalValue = calculateMaxDecimalValue(bitStringLength, numberOfPoints);
+
+            //create an instance to check the orientations
+            checker = new OrientationChecker(numberOfPoints);
+            orientation = new BitOrientation(numberOfPoints);
+            this.symmetry = symmetry.isReversalOnly() ? null : symmetry;
+
+            value = minDecimalValue-1;
+        }
+
+        /**
+         * Moves the counter to the next orientation which results in a connected graph.
+         */
+        @Override
+        public boolean hasNext() {
+            while(!found && value<maxDecimalValue) {
+                //convert number from the counter into the orientation
+                value++;
+                orientation.setValue(value);
+                found = checker.check(orientation) && (symmetry==null || symmetry.isCanonical(orientation));
+            }
+            return found;
+        }
+
+        @Override
+        public BitOrientation next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            found = false;
+            return orientation;
+        }
+    }
 
     /**
      * Checks whether the given list of points contains at least three points.
@@ -101,6 +191,18 @@ public class BruteForceAlgorithm {
        return (long) Math.pow(2,power);
     }
 
+    /**
+     * Calculates the smallest decimal value of the orientations which are canonical under reversal,
+     * i.e. the first bit is '1' (0->1). Every other orientation has the same dilation as its reversal.
+     *
+     * @param bitStringLength The length of the bit string.
+     * @param numberOfPoints The number of points.
+     * @return The smallest decimal value with the first bit '1'.
+     */
+    public static long calculateCanonicalMinDecimalValue(int bitStringLength, int numberOfPoints) {
+        return Math.max(calculateMinDecimalValue(bitStringLength,numberOfPoints), 1L << (bitStringLength-1));
+    }
+
     /**
      * Calculates the largest decimal value for which the orientation can be valid.
      * (The first vertex has one incoming edge)
@@ -125,6 +227,27 @@ public class BruteForceAlgorithm {
 
         double odil = bruteForce(points);
         System.out.println(points+", dilation: "+odil);
+
+        //compare the counter with the Gray code order and the parallel brute force on random point sets
+        for(int n=5;n<=7;n++) {
+            List<Point> randomPoints = PointGenerator.generateUniquePoints(n);
+
+            long start = System.nanoTime();
+            double counter = bruteForce(randomPoints);
+            double counterTime = (System.nanoTime()-start)/1e6;
+
+            start = System.nanoTime();
+            double grayCode = bruteForceGrayCode(randomPoints);
+            double grayCodeTime = (System.nanoTime()-start)/1e6;
+
+            start = System.nanoTime();
+            double parallel = new ParallelBruteForce().bruteForce(randomPoints);
+            double parallelTime = (System.nanoTime()-start)/1e6;
+
+            System.out.println(String.format(Locale.US,
+                    "n=%d counter: %.6f in %.1f ms, gray code: %.6f in %.1f ms, parallel: %.6f in %.1f ms",
+                    n,counter,counterTime,grayCode,grayCodeTime,parallel,parallelTime));
+        }
     }
 }
 
@@ -0,0 +1,248 @@
+package BruteForce;
+
+import Orientation.BitOrientation;
+import Points.Point;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * This class holds the progress of a brute force which runs over the binary counter in chunks of equal size:
+ * the point set, the counter range, the best dilation and orientation found so far and the finished chunks.
+ * It is written to a small binary file, so a search that was stopped can be resumed without evaluating
+ * a finished chunk again. The file is first written to a temporary file and then moved over the old one,
+ * so a crash while writing keeps the last complete checkpoint.
+ * <p>
+ * File format (big endian): magic, version, number of points, the coordinates of the points,
+ * min and max decimal value, chunk size, best dilation, value of the best orientation (-1 if none),
+ * number of finished-chunk words and the words of the finished-chunk bitset.
+ */
+public class Checkpoint {
+
+    final static int MAGIC = 0x4F444350;
+    final static int VERSION = 1;
+
+    private final List<Point> points;
+
+    //the counter runs over [minDecimalValue,maxDecimalValue] in chunks of chunkSize values
+    private final long minDecimalValue;
+    private final long maxDecimalValue;
+    private final long chunkSize;
+    private final int numberOfChunks;
+
+    private final BitSet finished;
+
+    private double bestDilation;
+    private long bestValue;
+
+    /**
+     * Creates the checkpoint of a new search, no chunk is finished yet.
+     * @param points the point set of the search.
+     * @param minDecimalValue the first value of the counter.
+     * @param maxDecimalValue the last value of the counter.
+     * @param chunkSize the number of counter values of a chunk.
+     */
+    public Checkpoint(List<Point> points, long minDecimalValue, long maxDecimalValue, long chunkSize) {
+        this(points,minDecimalValue,maxDecimalValue,chunkSize,99999,-1,new BitSet());
+    }
+
+    private Checkpoint(List<Point> points, long minDecimalValue, long maxDecimalValue, long chunkSize,
+                       double bestDilation, long bestValue, BitSet finished) {
+        if(chunkSize<1) {
+            throw new IllegalArgumentException("Chunk size must be positive: "+chunkSize);
+        }
+        long chunks = (maxDecimalValue-minDecimalValue)/chunkSize + 1;
+        if(maxDecimalValue<minDecimalValue || chunks>Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid counter range for chunks of size "+chunkSize);
+        }
+
+        this.points = List.copyOf(points);
+        this.minDecimalValue = minDecimalValue;
+        this.maxDecimalValue = maxDecimalValue;
+        this.chunkSize = chunkSize;
+        this.numberOfChunks = (int) chunks;
+        this.bestDilation = bestDilation;
+        this.bestValue = bestValue;
+        this.finished = finished;
+    }
+
+    public List<Point> getPoints() {
+        return points;
+    }
+
+    public long getMinDecimalValue() {
+        return minDecimalValue;
+    }
+
+    public long getMaxDecimalValue() {
+        return maxDecimalValue;
+    }
+
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getNumberOfChunks() {
+        return numberOfChunks;
+    }
+
+    public synchronized boolean isFinished(int chunk) {
+        return finished.get(chunk);
+    }
+
+    public synchronized void finish(int chunk) {
+        finished.set(chunk);
+    }
+
+    public synchronized int numberOfFinishedChunks() {
+        return finished.cardinality();
+    }
+
+    public synchronized double getBestDilation() {
+        return bestDilation;
+    }
+
+    /**
+     * @return a copy of the best orientation or null if no orientation was found yet.
+     */
+    public synchronized BitOrientation getBestOrientation() {
+        if(bestValue<0) return null;
+
+        BitOrientation orientation = new BitOrientation(points.size());
+        orientation.setValue(bestValue);
+        return orientation;
+    }
+
+    /**
+     * Stores the orientation if its dilation is smaller than the best dilation.
+     */
+    public synchronized void update(BitOrientation orientation, double dilation) {
+        if(dilation < bestDilation) {
+            bestDilation = dilation;
+            bestValue = orientation.getValue();
+        }
+    }
+
+    /**
+     * Writes the checkpoint atomically (see {@link #writeAtomically(Path, DataWriter)}).
+     * @param filePath the path of the checkpoint file.
+     * @throws IOException if the file can't be written.
+     */
+    public void write(Path filePath) throws IOException {
+        writeAtomically(filePath,this::writeTo);
+    }
+
+    /**
+     * Writes the data of a file.
+     */
+    interface DataWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Writes a file atomically: into a temporary file next to the target, which then replaces the target.
+     * Readers of the target see either the old or the complete new file.
+     */
+    static void writeAtomically(Path filePath, DataWriter writer) throws IOException {
+        Path target = filePath.toAbsolutePath();
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                writer.write(out);
+            }
+
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Writes a consistent snapshot of the checkpoint, the workers keep running meanwhile.
+     */
+    private synchronized void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        out.writeInt(points.size());
+        for(Point point : points) {
+            out.writeDouble(point.x());
+            out.writeDouble(point.y());
+        }
+
+        out.writeLong(minDecimalValue);
+        out.writeLong(maxDecimalValue);
+        out.writeLong(chunkSize);
+
+        out.writeDouble(bestDilation);
+        out.writeLong(bestValue);
+
+        long[] words = finished.toLongArray();
+        out.writeInt(words.length);
+        for(long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Reads a checkpoint written by {@link #write(Path)}.
+     * @param filePath the path of the checkpoint file.
+     * @return the checkpoint.
+     * @throws IOException if the file can't be read or is no checkpoint file.
+     */
+    public static Checkpoint read(Path filePath) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(filePath)))) {
+            if(in.readInt() != MAGIC) {
+                throw new IOException("Not a checkpoint file: "+filePath);
+            }
+            int version = in.readInt();
+            if(version != VERSION) {
+                throw new IOException("Unsupported checkpoint version: "+version);
+            }
+
+            int numberOfPoints = in.readInt();
+            List<Point> points = new ArrayList<>(numberOfPoints);
+            for(int i=0;i<numberOfPoints;i++) {
+                points.add(new Point(in.readDouble(), in.readDouble()));
+            }
+
+            long minDecimalValue = in.readLong();
+            long maxDecimalValue = in.readLong();
+            long chunkSize = in.readLong();
+
+            double bestDilation = in.readDouble();
+            long bestValue = in.readLong();
+
+            long[] words = new long[in.readInt()];
+            for(int w=0;w<words.length;w++) {
+                words[w] = in.readLong();
+            }
+
+            try {
+                return new Checkpoint(points,minDecimalValue,maxDecimalValue,chunkSize,bestDilation,bestValue,
+                        BitSet.valueOf(words));
+            }
+            catch (IllegalArgumentException e) {
+                throw new IOException("Corrupted checkpoint file: "+filePath, e);
+            }
+        }
+    }
+}
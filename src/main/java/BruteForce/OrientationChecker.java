@@ -0,0 +1,199 @@
+package BruteForce;
+
+import Orientation.BitOrientation;
+
+import java.util.Arrays;
+
+/**
+ * This class checks packed orientations for their validity without creating strings.
+ * For every vertex the bits of its edges are selected with precomputed masks: the bits of the row (v,j) with j>v
+ * are 1 for outgoing edges, the bits of the column (i,v) with i<v are 1 for ingoing edges.
+ * The out-degree is then counted with popcount. Optionally the checker also tests strong connectivity by
+ * computing the vertices reachable from vertex 0 forwards and backwards with bitsets.
+ */
+public class OrientationChecker {
+
+    private final int numberOfPoints;
+
+    //run the strong connectivity test after the degree test
+    private final boolean strongConnectivity;
+
+    //masks of the bits of row v and column v for every long word of the orientation
+    private final long[][] rowMasks;
+    private final long[][] columnMasks;
+
+    //bitsets of the out- and in-neighbours of every vertex and the reached vertices
+    private final long[][] outgoing;
+    private final long[][] ingoing;
+    private final long[] reached;
+    private final long[] frontier;
+    private final long[] next;
+
+    /**
+     * Creates a checker which only checks the degrees of the vertices, like {@link StringChecker}.
+     * @param numberOfPoints the number of vertices of the graph.
+     */
+    public OrientationChecker(int numberOfPoints) {
+        this(numberOfPoints,false);
+    }
+
+    /**
+     * Creates a checker.
+     * @param numberOfPoints the number of vertices of the graph.
+     * @param strongConnectivity if true the orientations must also be strongly connected.
+     */
+    public OrientationChecker(int numberOfPoints, boolean strongConnectivity) {
+        if(numberOfPoints<2) {
+            throw new IllegalArgumentException("Number of points should be at least 2.");
+        }
+        this.numberOfPoints = numberOfPoints;
+        this.strongConnectivity = strongConnectivity;
+
+        BitOrientation orientation = new BitOrientation(numberOfPoints);
+        int numberOfWords = orientation.numberOfWords();
+
+        rowMasks = new long[numberOfPoints][numberOfWords];
+        columnMasks = new long[numberOfPoints][numberOfWords];
+
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=i+1;j<numberOfPoints;j++) {
+                int index = orientation.index(i,j);
+                rowMasks[i][index>>>6] |= 1L << index;
+                columnMasks[j][index>>>6] |= 1L << index;
+            }
+        }
+
+        int vertexWords = (numberOfPoints+63)/64;
+        outgoing = new long[numberOfPoints][vertexWords];
+        ingoing = new long[numberOfPoints][vertexWords];
+        reached = new long[vertexWords];
+        frontier = new long[vertexWords];
+        next = new long[vertexWords];
+    }
+
+    /**
+     * Checks if every vertex has at least one outgoing and one ingoing edge and,
+     * if the checker was created with strongConnectivity, if the graph is strongly connected.
+     * @param orientation the packed orientation of the graph on numberOfPoints vertices
+     * @return true if the orientation is valid
+     */
+    public boolean check(BitOrientation orientation) {
+        if(!checkDegrees(orientation)) return false;
+        return !strongConnectivity || isStronglyConnected(orientation);
+    }
+
+    /**
+     * Checks if every vertex has at least one outgoing and one ingoing edge.
+     * @param orientation the packed orientation of the graph on numberOfPoints vertices
+     * @return true if every vertex has in- and outgoing edges
+     */
+    public boolean checkDegrees(BitOrientation orientation) {
+        checkOrientation(orientation);
+
+        for(int v=0;v<numberOfPoints;v++) {
+            int outDegree = outDegree(orientation,v);
+
+            //only ingoing or only outgoing edges
+            if(outDegree==0 || outDegree==numberOfPoints-1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calculates the number of outgoing edges of a vertex.
+     * @param orientation the packed orientation of the graph on numberOfPoints vertices
+     * @param v the vertex
+     * @return the out-degree of v
+     */
+    public int outDegree(BitOrientation orientation, int v) {
+        long[] rowMask = rowMasks[v];
+        long[] columnMask = columnMasks[v];
+
+        //ones in the row are outgoing edges, ones in the column are ingoing edges
+        int rowOnes = 0;
+        int columnOnes = 0;
+        for(int w=0;w<rowMask.length;w++) {
+            long word = orientation.getWord(w);
+            rowOnes += Long.bitCount(word & rowMask[w]);
+            columnOnes += Long.bitCount(word & columnMask[w]);
+        }
+        return rowOnes + v - columnOnes;
+    }
+
+    /**
+     * Checks if every vertex can be reached from vertex 0 and can reach vertex 0.
+     * @param orientation the packed orientation of the graph on numberOfPoints vertices
+     * @return true if the graph is strongly connected
+     */
+    public boolean isStronglyConnected(BitOrientation orientation) {
+        checkOrientation(orientation);
+
+        for(long[] neighbours : outgoing) Arrays.fill(neighbours,0);
+        for(long[] neighbours : ingoing) Arrays.fill(neighbours,0);
+
+        //collect the neighbours of every vertex
+        int index = 0;
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=i+1;j<numberOfPoints;j++) {
+                if(orientation.get(index)) {
+                    outgoing[i][j>>>6] |= 1L << j;
+                    ingoing[j][i>>>6] |= 1L << i;
+                }
+                else {
+                    outgoing[j][i>>>6] |= 1L << i;
+                    ingoing[i][j>>>6] |= 1L << j;
+                }
+                index++;
+            }
+        }
+
+        return reachesAll(outgoing) && reachesAll(ingoing);
+    }
+
+    /**
+     * Breadth first search from vertex 0 on bitsets, every round adds all neighbours of the last frontier.
+     */
+    private boolean reachesAll(long[][] neighbours) {
+        Arrays.fill(reached,0);
+        Arrays.fill(frontier,0);
+        reached[0] = 1L;
+        frontier[0] = 1L;
+
+        int numberOfReached = 1;
+        boolean growing = true;
+
+        while(growing) {
+            Arrays.fill(next,0);
+
+            for(int w=0;w<frontier.length;w++) {
+                long word = frontier[w];
+                while(word != 0) {
+                    int v = (w<<6) + Long.numberOfTrailingZeros(word);
+                    word &= word-1;
+
+                    for(int k=0;k<next.length;k++) {
+                        next[k] |= neighbours[v][k];
+                    }
+                }
+            }
+
+            //the new frontier are the neighbours which were not reached before
+            growing = false;
+            for(int w=0;w<next.length;w++) {
+                frontier[w] = next[w] & ~reached[w];
+                reached[w] |= frontier[w];
+                numberOfReached += Long.bitCount(frontier[w]);
+                if(frontier[w] != 0) growing = true;
+            }
+        }
+        return numberOfReached == numberOfPoints;
+    }
+
+    private void checkOrientation(BitOrientation orientation) {
+        if(orientation.getNumberOfPoints() != numberOfPoints) {
+            throw new IllegalArgumentException("Orientation doesn't match number of points.");
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package BruteForce;
+
+import Dilation.BoundedDilation;
+import Dilation.PointSetGeometry;
+import Dilation.ThresholdDilation;
+import Orientation.BitOrientation;
+import Points.Point;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class runs the brute force of {@link BruteForceAlgorithm} on all cores.
+ * The range of the binary counter is split into chunks which are distributed over a ForkJoinPool,
+ * idle threads steal the remaining chunks of busy threads. All workers share the smallest dilation found so far
+ * and use it as the bound of their evaluations, so an orientation is only evaluated completely if it can beat
+ * the best orientation of all threads. The result is the same minimum as the one of the sequential brute force.
+ * <p>
+ * Long searches can write their progress to a {@link Checkpoint} file: the finished chunks and the best orientation
+ * are saved periodically, and {@link #resume(Path)} continues a stopped search with the chunks that are not finished.
+ */
+public class ParallelBruteForce {
+
+    //number of counter values a task handles without splitting it further
+    final static long CHUNK_SIZE = 1L << 14;
+
+    //a checkpoint has at most this many chunks, larger counter ranges get larger chunks
+    final static long MAX_CHECKPOINT_CHUNKS = 1L << 20;
+
+    //default time between two checkpoints in milliseconds
+    final static long CHECKPOINT_INTERVAL = 60_000;
+
+    private final ForkJoinPool pool;
+
+    private final long checkpointInterval;
+
+    /**
+     * Creates a brute force which runs on the common ForkJoinPool.
+     */
+    public ParallelBruteForce() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a brute force which runs on the given pool.
+     * @param pool the pool executing the tasks, e.g. new ForkJoinPool(threads).
+     */
+    public ParallelBruteForce(ForkJoinPool pool) {
+        this(pool,CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Creates a brute force which runs on the given pool.
+     * @param pool the pool executing the tasks, e.g. new ForkJoinPool(threads).
+     * @param checkpointInterval the time between two checkpoints in milliseconds.
+     */
+    public ParallelBruteForce(ForkJoinPool pool, long checkpointInterval) {
+        this.pool = pool;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Performs the brute-force calculation to determine the minimum oriented dilation for a set of points.
+     *
+     * @param points The set of points for which the calculation is performed.
+     * @return The minimum oriented dilation.
+     */
+    public double bruteForce(List<Point> points) {
+        int bitStringLength = checkPoints(points);
+
+        //calculate range for the bit counter
+        long minDecimalValue = BruteForceAlgorithm.calculateCanonicalMinDecimalValue(bitStringLength, points.size());
+        long maxDecimalValue = BruteForceAlgorithm.calculateMaxDecimalValue(bitStringLength, points.size());
+
+        Search search = new Search(points,minDecimalValue,maxDecimalValue,CHUNK_SIZE,99999,null,null);
+        long numberOfChunks = (maxDecimalValue-minDecimalValue)/CHUNK_SIZE + 1;
+        pool.invoke(new Chunk(search,0,numberOfChunks));
+
+        return Double.longBitsToDouble(search.best.get());
+    }
+
+    /**
+     * Performs the brute-force calculation and saves the progress to a checkpoint file,
+     * periodically and after the search.
+     *
+     * @param points The set of points for which the calculation is performed.
+     * @param checkpointFile the checkpoint file, an existing file is replaced.
+     * @return The minimum oriented dilation.
+     * @throws IOException if the first or the last checkpoint can't be written.
+     */
+    public double bruteForce(List<Point> points, Path checkpointFile) throws IOException {
+        int bitStringLength = checkPoints(points);
+
+        long minDecimalValue = BruteForceAlgorithm.calculateCanonicalMinDecimalValue(bitStringLength, points.size());
+        long maxDecimalValue = BruteForceAlgorithm.calculateMaxDecimalValue(bitStringLength, points.size());
+
+        //keep the bitset of the finished chunks small
+        long chunkSize = Math.max(CHUNK_SIZE, (maxDecimalValue-minDecimalValue)/MAX_CHECKPOINT_CHUNKS + 1);
+
+        return run(new Checkpoint(points,minDecimalValue,maxDecimalValue,chunkSize), checkpointFile);
+    }
+
+    /**
+     * Continues the search of a checkpoint file, only the chunks which are not finished are evaluated.
+     *
+     * @param checkpointFile a checkpoint file written by {@link #bruteForce(List, Path)}.
+     * @return The minimum oriented dilation.
+     * @throws IOException if the checkpoint file can't be read or written.
+     */
+    public double resume(Path checkpointFile) throws IOException {
+        return run(Checkpoint.read(checkpointFile), checkpointFile);
+    }
+
+    private double run(Checkpoint checkpoint, Path checkpointFile) throws IOException {
+        List<Point> points = checkpoint.getPoints();
+        checkPoints(points);
+
+        checkpoint.write(checkpointFile);
+
+        //the shared minimum starts with the best dilation of the finished chunks
+        Search search = new Search(points,checkpoint.getMinDecimalValue(),checkpoint.getMaxDecimalValue(),
+                checkpoint.getChunkSize(),checkpoint.getBestDilation(),checkpoint,checkpointFile);
+        pool.invoke(new Chunk(search,0,checkpoint.getNumberOfChunks()));
+
+        checkpoint.write(checkpointFile);
+        return Double.longBitsToDouble(search.best.get());
+    }
+
+    /**
+     * @return the length of the bit string of the point set.
+     */
+    private static int checkPoints(List<Point> points) {
+        BruteForceAlgorithm.checkArguments(points);
+
+        int numberOfPoints = points.size();
+        int bitStringLength = BruteForceAlgorithm.calculateBitStringLength(numberOfPoints);
+
+        if(bitStringLength>62) {
+            throw new IllegalArgumentException("Too many points for the brute force: "+numberOfPoints);
+        }
+        return bitStringLength;
+    }
+
+    /**
+     * Lowers the shared minimum to the given dilation if it is smaller, without locking.
+     */
+    static void updateMinimum(AtomicLong best, double dilation) {
+        long bits = Double.doubleToLongBits(dilation);
+        long current = best.get();
+
+        while(bits < current && !best.compareAndSet(current,bits)) {
+            current = best.get();
+        }
+    }
+
+    /**
+     * The state shared by all tasks of one search.
+     */
+    private class Search {
+        private final PointSetGeometry geometry;
+
+        //null if the counter range already removes all symmetric orientations
+        private final SymmetryBreaker symmetry;
+
+        //the bits of a positive double are ordered like the double, so the minimum can be updated with a CAS
+        private final AtomicLong best;
+
+        //the counter runs over [minDecimalValue,maxDecimalValue] in chunks of chunkSize values
+        private final long minDecimalValue;
+        private final long maxDecimalValue;
+        private final long chunkSize;
+
+        //null if the search doesn't write checkpoints
+        private final Checkpoint checkpoint;
+        private final Path checkpointFile;
+
+        //time of the last checkpoint in nanoseconds
+        private final AtomicLong lastSave = new AtomicLong(System.nanoTime());
+
+        Search(List<Point> points, long minDecimalValue, long maxDecimalValue, long chunkSize, double bestDilation,
+               Checkpoint checkpoint, Path checkpointFile) {
+            geometry = new PointSetGeometry(points);
+
+            //the counter range already removes the reversed orientations
+            SymmetryBreaker symmetryBreaker = SymmetryBreaker.detect(geometry);
+            symmetry = symmetryBreaker.isReversalOnly() ? null : symmetryBreaker;
+
+            best = new AtomicLong(Double.doubleToLongBits(bestDilation));
+            this.minDecimalValue = minDecimalValue;
+            this.maxDecimalValue = maxDecimalValue;
+            this.chunkSize = chunkSize;
+            this.checkpoint = checkpoint;
+            this.checkpointFile = checkpointFile;
+        }
+
+        /**
+         * Writes the checkpoint if the interval has passed, only one thread writes at a time.
+         */
+        void saveIfDue() {
+            long now = System.nanoTime();
+            long last = lastSave.get();
+
+            if(now-last >= checkpointInterval*1_000_000 && lastSave.compareAndSet(last,now)) {
+                try {
+                    checkpoint.write(checkpointFile);
+                }
+                catch (IOException e) {
+                    //the search goes on, the next checkpoint tries again
+                    System.err.println("Checkpoint-exception " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates the chunks in [first,last).
+     */
+    private static class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final long first;
+        private final long last;
+
+        Chunk(Search search, long first, long last) {
+            this.search = search;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if(last-first > 1) {
+                long middle = first + (last-first)/2;
+                invokeAll(new Chunk(search,first,middle), new Chunk(search,middle,last));
+                return;
+            }
+
+            Checkpoint checkpoint = search.checkpoint;
+            if(checkpoint != null && checkpoint.isFinished((int) first)) return;
+
+            long start = search.minDecimalValue + first*search.chunkSize;
+            long end = Math.min(start+search.chunkSize, search.maxDecimalValue+1);
+
+            int numberOfPoints = search.geometry.getNumberOfPoints();
+            OrientationChecker checker = new OrientationChecker(numberOfPoints);
+            BitOrientation orientation = new BitOrientation(numberOfPoints);
+            ThresholdDilation evaluator = new ThresholdDilation(search.geometry);
+
+            for(long value=start; value<end; value++) {
+                //convert number from the counter into the orientation
+                orientation.setValue(value);
+
+                //check if orientation results in a connected graph
+                if(!checker.check(orientation)) continue;
+
+                //orientations with a symmetric counterpart of the same dilation are skipped
+                if(search.symmetry!=null && !search.symmetry.isCanonical(orientation)) continue;
+
+                //calculate dilation, stop if it can't be smaller than the minimum of all threads
+                double minDilation = Double.longBitsToDouble(search.best.get());
+                BoundedDilation dilation = evaluator.calculate(orientation,minDilation);
+
+                if(!dilation.exceeded()) {
+                    updateMinimum(search.best,dilation.dilation());
+                    if(checkpoint != null) checkpoint.update(orientation,dilation.dilation());
+                }
+            }
+
+            if(checkpoint != null) {
+                checkpoint.finish((int) first);
+                search.saveIfDue();
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package BruteForce;
+
+import Dilation.BestOrientation;
+import Orientation.BitOrientation;
+import Points.Point;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class describes a part of an exhaustive search which is evaluated by one {@link ShardWorker}.
+ * The search orients the free edges in all ways while the other edges keep the direction of the base orientation.
+ * The orientations of the free edges are the values of a binary counter, the most significant bit is the first
+ * free edge. A shard covers the counter values in [start,end).
+ * <p>
+ * The brute force has all edges free, so the counter is the one of {@link BruteForceAlgorithm}.
+ * The search of {@code ApproxBrute} has the edges that were not oriented by the triangles free.
+ * <p>
+ * File format (big endian): magic, id, number of points, the coordinates of the points,
+ * base orientation as a bit string, number of free edges, the free edge indices, start and end.
+ * The result of a shard is the number of points, its best orientation as a bit string (empty if none)
+ * and its dilation.
+ */
+public class Shard {
+
+    final static int MAGIC = 0x4F445348;
+
+    private final int id;
+    private final List<Point> points;
+    private final BitOrientation base;
+    private final int[] freeEdges;
+    private final long start;
+    private final long end;
+
+    /**
+     * Creates a shard.
+     * @param id the number of the shard, unique within a search.
+     * @param points the point set of the search.
+     * @param base the orientation of the edges which are not free.
+     * @param freeEdges the indices of the free edges in the bit string in ascending order.
+     * @param start the first counter value.
+     * @param end the counter value after the last value.
+     */
+    public Shard(int id, List<Point> points, BitOrientation base, int[] freeEdges, long start, long end) {
+        if(freeEdges.length>62) {
+            throw new IllegalArgumentException("Too many free edges for one counter: "+freeEdges.length);
+        }
+        for(int k=0;k<freeEdges.length;k++) {
+            if(freeEdges[k]<0 || freeEdges[k]>=base.length() || (k>0 && freeEdges[k]<=freeEdges[k-1])) {
+                throw new IllegalArgumentException("Free edges must be ascending edge indices.");
+            }
+        }
+        if(start<0 || end<start || end>1L<<freeEdges.length) {
+            throw new IllegalArgumentException("Invalid counter range ["+start+","+end+")");
+        }
+        this.id = id;
+        this.points = List.copyOf(points);
+        this.base = base.copy();
+        this.freeEdges = freeEdges.clone();
+        this.start = start;
+        this.end = end;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public List<Point> getPoints() {
+        return points;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * @return true if every edge is free.
+     */
+    public boolean allEdgesFree() {
+        return freeEdges.length == base.length();
+    }
+
+    /**
+     * Sets the orientation to the base orientation with the free edges oriented by the counter value.
+     */
+    public void setOrientation(BitOrientation orientation, long value) {
+        //the counter of all edges is the counter of the brute force
+        if(allEdgesFree()) {
+            orientation.setValue(value);
+            return;
+        }
+
+        orientation.copyFrom(base);
+        for(int k=0;k<freeEdges.length;k++) {
+            orientation.set(freeEdges[k], ((value >>> (freeEdges.length-1-k)) & 1) == 1);
+        }
+    }
+
+    /**
+     * @return the orientation matrix of the base orientation with INF for the free edges.
+     */
+    public int[][] createOrientationMatrix() {
+        int numberOfPoints = points.size();
+        int[][] orientationMatrix = new int[numberOfPoints][numberOfPoints];
+
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=i+1;j<numberOfPoints;j++) {
+                orientationMatrix[i][j] = base.hasEdge(i,j) ? 1 : 0;
+            }
+        }
+        for(int edge : freeEdges) {
+            int[] vertices = edge(edge);
+            orientationMatrix[vertices[0]][vertices[1]] = 99999;
+        }
+        return orientationMatrix;
+    }
+
+    /**
+     * @return the vertices {i,j} with i<j of the edge with the given index.
+     */
+    private int[] edge(int index) {
+        int i = 0;
+        int rowLength = points.size()-1;
+        while(index >= rowLength) {
+            index -= rowLength;
+            rowLength--;
+            i++;
+        }
+        return new int[]{i,i+1+index};
+    }
+
+    /**
+     * Writes the shard atomically, so a worker never claims a half written shard.
+     * @param filePath the path of the shard file.
+     * @throws IOException if the file can't be written.
+     */
+    public void write(Path filePath) throws IOException {
+        Checkpoint.writeAtomically(filePath, out -> {
+            out.writeInt(MAGIC);
+            out.writeInt(id);
+
+            out.writeInt(points.size());
+            for(Point point : points) {
+                out.writeDouble(point.x());
+                out.writeDouble(point.y());
+            }
+
+            out.writeUTF(base.toString());
+
+            out.writeInt(freeEdges.length);
+            for(int edge : freeEdges) {
+                out.writeInt(edge);
+            }
+
+            out.writeLong(start);
+            out.writeLong(end);
+        });
+    }
+
+    /**
+     * Reads a shard written by {@link #write(Path)}.
+     * @param filePath the path of the shard file.
+     * @return the shard.
+     * @throws IOException if the file can't be read or is no shard file.
+     */
+    public static Shard read(Path filePath) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(filePath)))) {
+            if(in.readInt() != MAGIC) {
+                throw new IOException("Not a shard file: "+filePath);
+            }
+            int id = in.readInt();
+
+            int numberOfPoints = in.readInt();
+            List<Point> points = new ArrayList<>(numberOfPoints);
+            for(int i=0;i<numberOfPoints;i++) {
+                points.add(new Point(in.readDouble(), in.readDouble()));
+            }
+
+            String base = in.readUTF();
+
+            int[] freeEdges = new int[in.readInt()];
+            for(int k=0;k<freeEdges.length;k++) {
+                freeEdges[k] = in.readInt();
+            }
+
+            long start = in.readLong();
+            long end = in.readLong();
+
+            try {
+                return new Shard(id,points,BitOrientation.fromString(base,numberOfPoints),freeEdges,start,end);
+            }
+            catch (IllegalArgumentException e) {
+                throw new IOException("Corrupted shard file: "+filePath, e);
+            }
+        }
+    }
+
+    /**
+     * Writes the result of a shard atomically, so the coordinator never reads a half written result.
+     * @param filePath the path of the result file.
+     * @param numberOfPoints the number of points of the search.
+     * @param result the best orientation of the shard, its orientation is null if the shard had no valid one.
+     * @throws IOException if the file can't be written.
+     */
+    public static void writeResult(Path filePath, int numberOfPoints, BestOrientation result) throws IOException {
+        Checkpoint.writeAtomically(filePath, out -> {
+            out.writeInt(MAGIC);
+            out.writeInt(numberOfPoints);
+            out.writeUTF(result.orientation() == null ? "" : result.orientation().toString());
+            out.writeDouble(result.dilation());
+        });
+    }
+
+    /**
+     * Reads the result of a shard written by {@link #writeResult(Path, int, BestOrientation)}.
+     * @param filePath the path of the result file.
+     * @return the best orientation of the shard.
+     * @throws IOException if the file can't be read or is no result file.
+     */
+    public static BestOrientation readResult(Path filePath) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(filePath)))) {
+            if(in.readInt() != MAGIC) {
+                throw new IOException("Not a shard result file: "+filePath);
+            }
+            int numberOfPoints = in.readInt();
+            String orientation = in.readUTF();
+            double dilation = in.readDouble();
+
+            try {
+                return new BestOrientation(orientation.isEmpty() ? null
+                        : BitOrientation.fromString(orientation,numberOfPoints), dilation);
+            }
+            catch (IllegalArgumentException e) {
+                throw new IOException("Corrupted shard result file: "+filePath, e);
+            }
+        }
+    }
+}
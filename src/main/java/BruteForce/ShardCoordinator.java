@@ -0,0 +1,242 @@
+package BruteForce;
+
+import Dilation.BestOrientation;
+import Orientation.BitOrientation;
+import Points.Point;
+import Points.PointGenerator;
+import TwoApproximation.ApproxBrute;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * This class splits an exhaustive search into shards for several worker processes which only share a directory.
+ * The shards are written into the pending directory, every {@link ShardWorker} claims shards by moving them into
+ * the claimed directory and writes the best orientation of a shard into the results directory.
+ * The coordinator merges the results into the best orientation of the whole search.
+ * Each worker has its own heap (and native memory), and a crashed worker only loses its claimed shards,
+ * which can be moved back into the pending directory with {@link #requeueClaimed()}.
+ */
+public class ShardCoordinator {
+
+    final static String PENDING = "pending";
+    final static String CLAIMED = "claimed";
+    final static String RESULTS = "results";
+
+    //complete shard and result files, the temporary files of an atomic write have another suffix
+    final static String SUFFIX = ".bin";
+
+    private final Path pending;
+    private final Path claimed;
+    private final Path results;
+
+    private final Path directory;
+
+    /**
+     * Creates a coordinator and the queue directories.
+     * @param directory the directory shared by the coordinator and the workers.
+     * @throws IOException if the directories can't be created.
+     */
+    public ShardCoordinator(Path directory) throws IOException {
+        this.directory = directory;
+        pending = Files.createDirectories(directory.resolve(PENDING));
+        claimed = Files.createDirectories(directory.resolve(CLAIMED));
+        results = Files.createDirectories(directory.resolve(RESULTS));
+    }
+
+    /**
+     * Splits the brute force of {@link BruteForceAlgorithm} into shards, all edges are free.
+     * @param points the point set of the search.
+     * @param numberOfShards the number of shards.
+     * @return the number of written shards.
+     * @throws IOException if the queue is not empty or a shard can't be written.
+     */
+    public int submitBruteForce(List<Point> points, int numberOfShards) throws IOException {
+        BruteForceAlgorithm.checkArguments(points);
+
+        int numberOfPoints = points.size();
+        int bitStringLength = BruteForceAlgorithm.calculateBitStringLength(numberOfPoints);
+
+        if(bitStringLength>62) {
+            throw new IllegalArgumentException("Too many points for the brute force: "+numberOfPoints);
+        }
+
+        int[] freeEdges = new int[bitStringLength];
+        for(int k=0;k<bitStringLength;k++) {
+            freeEdges[k] = k;
+        }
+
+        //the counter range of the brute force without the reversed orientations
+        long minDecimalValue = BruteForceAlgorithm.calculateCanonicalMinDecimalValue(bitStringLength, numberOfPoints);
+        long maxDecimalValue = BruteForceAlgorithm.calculateMaxDecimalValue(bitStringLength, numberOfPoints);
+
+        return submit(points,new BitOrientation(numberOfPoints),freeEdges,minDecimalValue,maxDecimalValue+1,
+                numberOfShards);
+    }
+
+    /**
+     * Splits the search of {@link ApproxBrute} into shards, the edges which were not oriented
+     * by the triangles are free.
+     * @param points the point set of the search.
+     * @param numberOfShards the number of shards.
+     * @return the number of written shards.
+     * @throws IOException if the queue is not empty or a shard can't be written.
+     */
+    public int submitApproxBrute(List<Point> points, int numberOfShards) throws IOException {
+        int numberOfPoints = points.size();
+        int[][] orientationMatrix = ApproxBrute.orientTriangles(points);
+
+        //the oriented edges form the base orientation, the others are free
+        BitOrientation base = new BitOrientation(numberOfPoints);
+        List<Integer> free = new ArrayList<>();
+
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=i+1;j<numberOfPoints;j++) {
+                int index = base.index(i,j);
+                if(orientationMatrix[i][j] == 1) base.set(index,true);
+                else if(orientationMatrix[i][j] != 0) free.add(index);
+            }
+        }
+
+        int[] freeEdges = free.stream().mapToInt(Integer::intValue).toArray();
+        if(freeEdges.length>62) {
+            throw new IllegalArgumentException("Too many free edges for the search: "+freeEdges.length);
+        }
+
+        return submit(points,base,freeEdges,0,1L<<freeEdges.length,numberOfShards);
+    }
+
+    /**
+     * Splits the counter range [start,end) into shards of about the same size.
+     */
+    private int submit(List<Point> points, BitOrientation base, int[] freeEdges, long start, long end,
+                       int numberOfShards) throws IOException {
+        if(numberOfShards<1) {
+            throw new IllegalArgumentException("Number of shards must be positive: "+numberOfShards);
+        }
+        if(!isEmpty(pending) || !isEmpty(claimed) || !isEmpty(results)) {
+            throw new IOException("The queue in "+directory+" is not empty.");
+        }
+
+        long shardSize = Math.max(1, (end-start+numberOfShards-1)/numberOfShards);
+        int id = 0;
+
+        for(long shardStart=start; shardStart<end; shardStart+=shardSize) {
+            long shardEnd = Math.min(shardStart+shardSize, end);
+            new Shard(id,points,base,freeEdges,shardStart,shardEnd).write(pending.resolve(fileName(id)));
+            id++;
+        }
+        return id;
+    }
+
+    private static String fileName(int id) {
+        return String.format("shard-%06d"+SUFFIX, id);
+    }
+
+    /**
+     * Moves the shards of crashed workers back into the pending directory.
+     * Only call this if no worker is running, otherwise a shard may be evaluated twice.
+     * @return the number of shards which were moved back.
+     * @throws IOException if a shard can't be moved.
+     */
+    public int requeueClaimed() throws IOException {
+        int numberOfShards = 0;
+        for(Path file : list(claimed)) {
+            Files.move(file, pending.resolve(file.getFileName()), StandardCopyOption.ATOMIC_MOVE);
+            numberOfShards++;
+        }
+        return numberOfShards;
+    }
+
+    /**
+     * @return true if no shard is pending or claimed.
+     * @throws IOException if the directories can't be read.
+     */
+    public boolean isFinished() throws IOException {
+        return isEmpty(pending) && isEmpty(claimed);
+    }
+
+    /**
+     * Merges the results of all evaluated shards.
+     * @return the best orientation of all results, with a null orientation if no shard had a valid orientation.
+     * @throws IOException if a result can't be read.
+     */
+    public BestOrientation merge() throws IOException {
+        BestOrientation best = new BestOrientation(null,99999);
+
+        for(Path file : list(results)) {
+            BestOrientation result = Shard.readResult(file);
+
+            if(result.orientation() != null && result.dilation() < best.dilation()) {
+                best = result;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Starts worker processes on this machine with the classpath of this JVM, waits for them and merges the results.
+     * @param numberOfWorkers the number of worker processes.
+     * @return the best orientation of the search.
+     * @throws IOException if a worker can't be started or fails.
+     * @throws InterruptedException if the coordinator is interrupted while waiting.
+     */
+    public BestOrientation runLocalWorkers(int numberOfWorkers) throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"),"bin","java").toString();
+        String classPath = System.getProperty("java.class.path");
+
+        List<Process> workers = new ArrayList<>();
+        for(int w=0;w<numberOfWorkers;w++) {
+            ProcessBuilder builder = new ProcessBuilder(java,"-cp",classPath,ShardWorker.class.getName(),
+                    directory.toAbsolutePath().toString());
+            builder.inheritIO();
+            workers.add(builder.start());
+        }
+
+        for(Process worker : workers) {
+            int exitCode = worker.waitFor();
+            if(exitCode != 0) {
+                throw new IOException("Worker failed with exit code "+exitCode);
+            }
+        }
+        return merge();
+    }
+
+    private static boolean isEmpty(Path directory) throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.findAny().isEmpty();
+        }
+    }
+
+    /**
+     * @return the complete shard or result files of the directory in the order of the shards.
+     */
+    static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        List<Point> points = PointGenerator.generateUniquePoints(7);
+        Path directory = Files.createTempDirectory("shards");
+
+        ShardCoordinator coordinator = new ShardCoordinator(directory);
+        int numberOfShards = coordinator.submitBruteForce(points, 16);
+
+        long start = System.nanoTime();
+        BestOrientation best = coordinator.runLocalWorkers(2);
+        double time = (System.nanoTime()-start)/1e6;
+
+        System.out.println(points);
+        System.out.println("shards: "+numberOfShards+" dilation: "+best.dilation()+" time: "+time+" ms"
+                +", brute force: "+BruteForceAlgorithm.bruteForce(points));
+        System.out.println("queue directory: "+directory+File.separator);
+    }
+}
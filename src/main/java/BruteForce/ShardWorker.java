@@ -0,0 +1,128 @@
+package BruteForce;
+
+import Dilation.BestOrientation;
+import Dilation.BoundedDilation;
+import Dilation.PointSetGeometry;
+import Dilation.ThresholdDilation;
+import Orientation.BitOrientation;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * This class evaluates the shards of a {@link ShardCoordinator} directory, usually in its own JVM process.
+ * A worker claims a shard by renaming its file from the pending into the claimed directory. The rename is atomic,
+ * so exactly one worker gets every shard, other workers fail to move it and try the next one.
+ * The best orientation of the shard is written to the results directory, then the claimed file is removed.
+ */
+public class ShardWorker {
+
+    private final Path pending;
+    private final Path claimed;
+    private final Path results;
+
+    /**
+     * Creates a worker for the queue in the given directory.
+     * @param directory the directory of the coordinator.
+     */
+    public ShardWorker(Path directory) {
+        pending = directory.resolve(ShardCoordinator.PENDING);
+        claimed = directory.resolve(ShardCoordinator.CLAIMED);
+        results = directory.resolve(ShardCoordinator.RESULTS);
+    }
+
+    /**
+     * Evaluates shards until the pending directory is empty.
+     * @return the number of shards evaluated by this worker.
+     * @throws IOException if a shard can't be claimed, read or its result can't be written.
+     */
+    public int run() throws IOException {
+        int numberOfShards = 0;
+        Path file;
+
+        while((file = claim()) != null) {
+            Shard shard = Shard.read(file);
+            BestOrientation result = evaluate(shard);
+
+            Shard.writeResult(results.resolve(file.getFileName()), shard.getPoints().size(), result);
+            Files.delete(file);
+            numberOfShards++;
+        }
+        return numberOfShards;
+    }
+
+    /**
+     * Moves the first pending shard which no other worker claimed into the claimed directory.
+     * @return the claimed shard file or null if there are no pending shards.
+     */
+    private Path claim() throws IOException {
+        for(Path file : ShardCoordinator.list(pending)) {
+            Path target = claimed.resolve(file.getFileName());
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                return target;
+            }
+            catch (NoSuchFileException | FileAlreadyExistsException e) {
+                //another worker was faster
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates all orientations of a shard which are valid and canonical.
+     * @param shard the part of the search.
+     * @return the best orientation of the shard, with a null orientation if the shard has no valid orientation.
+     */
+    public static BestOrientation evaluate(Shard shard) {
+        PointSetGeometry geometry = new PointSetGeometry(shard.getPoints());
+        int numberOfPoints = geometry.getNumberOfPoints();
+
+        //only the symmetries which keep the base orientation can be used
+        SymmetryBreaker symmetry = SymmetryBreaker.detect(geometry).stabilizer(shard.createOrientationMatrix());
+        if(symmetry.groupSize() == 1) symmetry = null;
+
+        OrientationChecker checker = new OrientationChecker(numberOfPoints);
+        ThresholdDilation evaluator = new ThresholdDilation(geometry);
+        BitOrientation orientation = new BitOrientation(numberOfPoints);
+
+        BitOrientation bestOrientation = null;
+        double minDilation = 99999;
+
+        for(long value=shard.getStart(); value<shard.getEnd(); value++) {
+            shard.setOrientation(orientation,value);
+
+            //check if orientation results in a connected graph
+            if(!checker.check(orientation)) continue;
+
+            //orientations with a symmetric counterpart of the same dilation are skipped
+            if(symmetry!=null && !symmetry.isCanonical(orientation)) continue;
+
+            //calculate dilation, stop if it can't be smaller than the minimum of the shard
+            BoundedDilation dilation = evaluator.calculate(orientation,minDilation);
+
+            if(!dilation.exceeded()) {
+                minDilation = dilation.dilation();
+                bestOrientation = orientation.copy();
+            }
+        }
+        return new BestOrientation(bestOrientation,minDilation);
+    }
+
+    /**
+     * Runs a worker on the directory given as the first argument.
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length != 1) {
+            System.err.println("Usage: ShardWorker <directory>");
+            System.exit(1);
+        }
+
+        int numberOfShards = new ShardWorker(Path.of(args[0])).run();
+        System.out.println("Evaluated shards: "+numberOfShards);
+    }
+}
@@ -1,5 +1,7 @@
 package BruteForce;
 
+import Orientation.BitOrientation;
+
 /**
  * This class checks a given orientation string for its validity.
  * The method checkString returns true if a given string returns a strongly connected graph.
@@ -39,6 +41,35 @@ public class StringChecker {
     }
 
 
+    /**
+     * Checks the same condition as {@link #checkString()} directly on a packed orientation:
+     * every vertex needs at least one outgoing and one ingoing edge.
+     * This method does not create any strings.
+     * @param orientation the packed orientation of the graph on numberOfPoints vertices
+     * @return true if every vertex has in- and outgoing edges
+     */
+    public boolean checkOrientation(BitOrientation orientation) {
+        if(orientation.getNumberOfPoints() != numberOfPoints) {
+            throw new IllegalArgumentException("Orientation doesn't match number of points.");
+        }
+
+        for(int i=0;i<numberOfPoints;i++) {
+            int outgoing=0;
+
+            for(int j=0;j<numberOfPoints;j++) {
+                if(j!=i && orientation.hasEdge(i,j)) {
+                    outgoing++;
+                }
+            }
+
+            //only ingoing or only outgoing edges
+            if(outgoing==0 || outgoing==numberOfPoints-1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Calculates the quantity of bits in the bit string representing the row i of the matrix.
      * For a vertex i these are entries in the matrix[i][j] for j<i.
@@ -0,0 +1,253 @@
+package BruteForce;
+
+import Dilation.PointSetGeometry;
+import Orientation.BitOrientation;
+import Points.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class removes orientations with the same oriented dilation from exhaustive searches.
+ * Reversing all edges doesn't change any closed walk, and a permutation of the points which keeps all distances
+ * (an automorphism of the point set, e.g. a rotation of a regular polygon) maps every orientation to one with the
+ * same dilation. All these maps form a group. An orientation is canonical if its bit string is the
+ * lexicographically biggest one of its orbit, so every orbit is evaluated only once.
+ * Under reversal alone the canonical orientations are exactly the ones with the first bit '1' (0->1).
+ */
+public class SymmetryBreaker {
+
+    //tolerance for comparing distances
+    final static double EPSILON = 1e-9;
+
+    private final int numberOfPoints;
+
+    //the group elements except the identity: the bit k of the mapped orientation is bit sources[k] of the
+    //orientation, inverted if flips[k] is true
+    private final List<int[]> sources;
+    private final List<boolean[]> flips;
+
+    private SymmetryBreaker(int numberOfPoints, List<int[]> sources, List<boolean[]> flips) {
+        this.numberOfPoints = numberOfPoints;
+        this.sources = sources;
+        this.flips = flips;
+    }
+
+    /**
+     * Creates the symmetry breaker which only uses the reversal of all edges.
+     * @param numberOfPoints the number of vertices of the graph.
+     */
+    public static SymmetryBreaker reversal(int numberOfPoints) {
+        int[] identity = identity(numberOfPoints);
+        return create(numberOfPoints,List.of(identity));
+    }
+
+    /**
+     * Creates the symmetry breaker for the reversal and all automorphisms of a point set.
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     */
+    public static SymmetryBreaker detect(List<Point> points) {
+        return detect(new PointSetGeometry(points));
+    }
+
+    /**
+     * Creates the symmetry breaker for the reversal and all automorphisms of a point set.
+     * @param geometry the distances of the point set.
+     */
+    public static SymmetryBreaker detect(PointSetGeometry geometry) {
+        int numberOfPoints = geometry.getNumberOfPoints();
+        List<int[]> permutations = new ArrayList<>();
+
+        int[] permutation = new int[numberOfPoints];
+        boolean[] used = new boolean[numberOfPoints];
+        findAutomorphisms(geometry.getDistances(),permutation,used,0,permutations);
+
+        return create(numberOfPoints,permutations);
+    }
+
+    /**
+     * Finds all permutations which keep the distances between the points, point by point with backtracking.
+     */
+    private static void findAutomorphisms(double[][] distances, int[] permutation, boolean[] used, int point,
+                                          List<int[]> permutations) {
+        int numberOfPoints = distances.length;
+
+        if(point == numberOfPoints) {
+            permutations.add(permutation.clone());
+            return;
+        }
+
+        for(int image=0;image<numberOfPoints;image++) {
+            if(used[image]) continue;
+
+            //the distances to all points mapped so far must stay the same
+            boolean fits = true;
+            for(int k=0;k<point && fits;k++) {
+                fits = Math.abs(distances[point][k] - distances[image][permutation[k]]) <= EPSILON;
+            }
+            if(!fits) continue;
+
+            permutation[point] = image;
+            used[image] = true;
+            findAutomorphisms(distances,permutation,used,point+1,permutations);
+            used[image] = false;
+        }
+    }
+
+    /**
+     * Creates the group of the given permutations (including the identity), each with and without reversal.
+     */
+    private static SymmetryBreaker create(int numberOfPoints, List<int[]> permutations) {
+        BitOrientation orientation = new BitOrientation(numberOfPoints);
+        int length = orientation.length();
+
+        List<int[]> sources = new ArrayList<>();
+        List<boolean[]> flips = new ArrayList<>();
+
+        for(int[] permutation : permutations) {
+            int[] inverse = new int[numberOfPoints];
+            for(int i=0;i<numberOfPoints;i++) {
+                inverse[permutation[i]] = i;
+            }
+
+            for(int reversed=0;reversed<2;reversed++) {
+                //skip the identity
+                if(reversed==0 && isIdentity(permutation)) continue;
+
+                int[] source = new int[length];
+                boolean[] flip = new boolean[length];
+
+                //the mapped orientation has i->j if the orientation has inverse(i)->inverse(j)
+                for(int i=0;i<numberOfPoints;i++) {
+                    for(int j=i+1;j<numberOfPoints;j++) {
+                        int k = orientation.index(i,j);
+                        int a = inverse[i];
+                        int b = inverse[j];
+
+                        source[k] = a<b ? orientation.index(a,b) : orientation.index(b,a);
+                        flip[k] = (a>b) != (reversed==1);
+                    }
+                }
+                sources.add(source);
+                flips.add(flip);
+            }
+        }
+        return new SymmetryBreaker(numberOfPoints,sources,flips);
+    }
+
+    private static int[] identity(int numberOfPoints) {
+        int[] identity = new int[numberOfPoints];
+        for(int i=0;i<numberOfPoints;i++) {
+            identity[i] = i;
+        }
+        return identity;
+    }
+
+    private static boolean isIdentity(int[] permutation) {
+        for(int i=0;i<permutation.length;i++) {
+            if(permutation[i]!=i) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Restricts the group to the elements which map a partial orientation onto itself, so that the completions
+     * of the partial orientation are mapped onto completions. Only these elements can be used if the
+     * search enumerates the completions of a partial orientation.
+     * @param orientationMatrix orientation matrix, entries (i,j) with i<j are 1 for i->j, 0 for j->i and INF if open.
+     * @return the symmetry breaker of the stabilizer.
+     */
+    public SymmetryBreaker stabilizer(int[][] orientationMatrix) {
+        BitOrientation orientation = new BitOrientation(numberOfPoints);
+
+        List<int[]> stabilizerSources = new ArrayList<>();
+        List<boolean[]> stabilizerFlips = new ArrayList<>();
+
+        for(int g=0;g<sources.size();g++) {
+            int[] source = sources.get(g);
+            boolean[] flip = flips.get(g);
+            boolean fixed = true;
+
+            for(int i=0;i<numberOfPoints && fixed;i++) {
+                for(int j=i+1;j<numberOfPoints && fixed;j++) {
+                    int value = orientationMatrix[i][j];
+                    if(value!=0 && value!=1) continue;
+
+                    //the edge (i,j) of the mapped orientation comes from an edge which must be oriented the same way
+                    int k = orientation.index(i,j);
+                    int[] edge = edge(source[k]);
+                    int sourceValue = orientationMatrix[edge[0]][edge[1]];
+
+                    fixed = (sourceValue==0 || sourceValue==1) && ((sourceValue==1) != flip[k]) == (value==1);
+                }
+            }
+
+            if(fixed) {
+                stabilizerSources.add(source);
+                stabilizerFlips.add(flip);
+            }
+        }
+        return new SymmetryBreaker(numberOfPoints,stabilizerSources,stabilizerFlips);
+    }
+
+    /**
+     * @return the vertices {i,j} with i<j of the edge with the given index.
+     */
+    private int[] edge(int index) {
+        int i = 0;
+        int rowLength = numberOfPoints-1;
+        while(index >= rowLength) {
+            index -= rowLength;
+            rowLength--;
+            i++;
+        }
+        return new int[]{i,i+1+index};
+    }
+
+    /**
+     * Checks if the orientation is the lexicographically biggest bit string of its orbit.
+     * @param orientation the packed orientation of the graph on numberOfPoints vertices
+     * @return true if no symmetry maps the orientation to a bigger bit string
+     */
+    public boolean isCanonical(BitOrientation orientation) {
+        int length = orientation.length();
+
+        for(int g=0;g<sources.size();g++) {
+            int[] source = sources.get(g);
+            boolean[] flip = flips.get(g);
+
+            //compare the bit strings from the first bit on
+            for(int k=0;k<length;k++) {
+                boolean bit = orientation.get(k);
+                boolean mappedBit = orientation.get(source[k]) != flip[k];
+
+                if(bit != mappedBit) {
+                    if(mappedBit) return false;
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of group elements including the identity.
+     */
+    public int groupSize() {
+        return sources.size()+1;
+    }
+
+    /**
+     * @return true if the group only contains the identity and the reversal of all edges.
+     */
+    public boolean isReversalOnly() {
+        if(sources.size()!=1) return false;
+
+        int[] source = sources.get(0);
+        boolean[] flip = flips.get(0);
+        for(int k=0;k<source.length;k++) {
+            if(source[k]!=k || !flip[k]) return false;
+        }
+        return true;
+    }
+}
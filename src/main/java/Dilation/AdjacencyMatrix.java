@@ -1,5 +1,7 @@
 package Dilation;
 import java.util.List;
+
+import Orientation.BitOrientation;
 import Points.Point;
 
 /**
@@ -11,6 +13,8 @@ import Points.Point;
  * If there is no edge from vertex i to vertex j, then: A[i][j] = 0
  */
 public class AdjacencyMatrix {
+    final static int INF = 99999;
+
     /**
      * Creates adjacency matrix of a graph for a given point set and orientation
      * @param points A list of Points.Point objects representing the vertices of the graph.
@@ -22,6 +26,20 @@ public class AdjacencyMatrix {
     public static double[][] createDistanceMatrix(List<Point> points, String orientation) {
         checkArguments(points,orientation);
 
+        return createDistanceMatrix(points, BitOrientation.fromString(orientation,points.size()));
+    }
+
+    /**
+     * Creates adjacency matrix of a graph for a given point set and packed orientation
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     * @param orientation the packed orientation of edges.
+     * @return adjacency matrix where
+     * A[i][j] is marked with distance between i,j if edge i->j exists
+     * and with 0 otherwise
+     */
+    public static double[][] createDistanceMatrix(List<Point> points, BitOrientation orientation) {
+        checkArguments(points,orientation);
+
         int numberOfPoints = points.size();
         double [][] matrix= new double[numberOfPoints][numberOfPoints];
 
@@ -33,15 +51,13 @@ public class AdjacencyMatrix {
 
             for( int j=i+1;j<numberOfPoints;j++) {
                 //get a bit for i->j with j>i
-                char edge = orientation.charAt(index);
-
-                if(edge == '1') {
+                if(orientation.get(index)) {
                     //if edge i->j exists
                     matrix[i][j] = points.get(i).calculateDistance(points.get(j));
                     matrix[j][i] = 0;
                 }
 
-                else if(edge == '0') {
+                else {
                     //j->i is saved
                     matrix[i][j] = 0;
                     matrix[j][i] = points.get(i).calculateDistance(points.get(j));
@@ -56,6 +72,71 @@ public class AdjacencyMatrix {
         return matrix;
     }
 
+    /**
+     * Creates adjacency matrix of a graph from the precomputed distances of a point set
+     * @param geometry the distances of the point set.
+     * @param orientation the packed orientation of edges.
+     * @return adjacency matrix where
+     * A[i][j] is marked with distance between i,j if edge i->j exists
+     * and with 0 otherwise
+     */
+    public static double[][] createDistanceMatrix(PointSetGeometry geometry, BitOrientation orientation) {
+        checkArguments(geometry.getPoints(),orientation);
+
+        int numberOfPoints = geometry.getNumberOfPoints();
+        double[][] distances = geometry.getDistances();
+        double [][] matrix= new double[numberOfPoints][numberOfPoints];
+
+        int index=0;
+
+        for( int i=0;i<numberOfPoints-1;i++) {
+            for( int j=i+1;j<numberOfPoints;j++) {
+                //i->j if the bit is 1, otherwise j->i
+                if(orientation.get(index)) {
+                    matrix[i][j] = distances[i][j];
+                }
+                else {
+                    matrix[j][i] = distances[i][j];
+                }
+                index++;
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Fills a flat row-major matrix with the input of the Floyd-Warshall algorithm for a point set and orientation.
+     * Unlike the adjacency matrix, missing edges are marked with INF (99999) here, D[i][j] is stored at i*n+j.
+     * @param geometry the distances of the point set.
+     * @param orientation the packed orientation of edges.
+     * @param distanceMatrix the array that is overwritten, it needs at least n*n entries.
+     */
+    public static void fillDistanceMatrix(PointSetGeometry geometry, BitOrientation orientation, double[] distanceMatrix) {
+        checkArguments(geometry.getPoints(),orientation);
+
+        int numberOfPoints = geometry.getNumberOfPoints();
+        double[][] distances = geometry.getDistances();
+
+        int index=0;
+
+        for( int i=0;i<numberOfPoints;i++) {
+            distanceMatrix[i*numberOfPoints+i] = 0;
+
+            for( int j=i+1;j<numberOfPoints;j++) {
+                //i->j if the bit is 1, otherwise j->i
+                if(orientation.get(index)) {
+                    distanceMatrix[i*numberOfPoints+j] = distances[i][j];
+                    distanceMatrix[j*numberOfPoints+i] = INF;
+                }
+                else {
+                    distanceMatrix[i*numberOfPoints+j] = INF;
+                    distanceMatrix[j*numberOfPoints+i] = distances[i][j];
+                }
+                index++;
+            }
+        }
+    }
+
     /**
      * Validates the input arguments: the list of points and the orientation bit string.
      * It checks that the number of points is at least 3 and that the length of the bit string
@@ -79,5 +160,22 @@ public class AdjacencyMatrix {
 
     }
 
+    /**
+     * Validates the input arguments: the list of points and the packed orientation.
+     *
+     * @param points A list of Point objects representing the vertices of the graph.
+     * @param orientation the packed orientation of edges.
+     * @throws IllegalArgumentException if the arguments are invalid (e.g., not enough points or mismatched orientation).
+     */
+    private static void checkArguments(List<Point> points, BitOrientation orientation) {
+        if(points.size()<3) {
+            throw new IllegalArgumentException("Number of points should be at least 3.");
+        }
+
+        if(orientation.getNumberOfPoints() != points.size()) {
+            throw new IllegalArgumentException("Orientation doesn't match point set: "+orientation);
+        }
+    }
+
 }
 
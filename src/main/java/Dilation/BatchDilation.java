@@ -0,0 +1,99 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+import Points.Point;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * This class evaluates many orientations of one point set and finds the orientation with the smallest
+ * oriented dilation. The geometry of the point set is computed once and shared by all evaluations,
+ * every orientation is only evaluated until it reaches the smallest dilation found so far
+ * (see {@link ThresholdDilation}). Enumerators only have to produce the orientations.
+ */
+public class BatchDilation {
+    final static int INF = 99999;
+
+    private final PointSetGeometry geometry;
+
+    //every thread evaluates with its own evaluator, they are not thread safe
+    private final ThreadLocal<ThresholdDilation> evaluators;
+
+    /**
+     * Creates the batch evaluator and precomputes the geometry of the point set.
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     */
+    public BatchDilation(List<Point> points) {
+        this(new PointSetGeometry(points));
+    }
+
+    /**
+     * Creates the batch evaluator for a point set with precomputed geometry.
+     * @param geometry the distances and triangles of the point set.
+     */
+    public BatchDilation(PointSetGeometry geometry) {
+        this.geometry = geometry;
+        this.evaluators = ThreadLocal.withInitial(() -> new ThresholdDilation(geometry));
+    }
+
+    public PointSetGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Finds the best of the orientations on the current thread.
+     * The producer may change and return the same orientation object again, the best one is copied.
+     * @param orientations the orientations of a complete graph on the point set.
+     * @return the best orientation and its dilation.
+     */
+    public BestOrientation findBest(Iterator<BitOrientation> orientations) {
+        Search search = new Search();
+
+        while(orientations.hasNext()) {
+            search.offer(orientations.next());
+        }
+        return search.result();
+    }
+
+    /**
+     * Finds the best of the orientations. If the stream is parallel the orientations are evaluated
+     * on several threads which share the smallest dilation found so far,
+     * then every element must be a separate orientation object.
+     * @param orientations the orientations of a complete graph on the point set.
+     * @return the best orientation and its dilation.
+     */
+    public BestOrientation findBest(Stream<BitOrientation> orientations) {
+        Search search = new Search();
+        orientations.forEach(search::offer);
+        return search.result();
+    }
+
+    /**
+     * Holds the best orientation of one search. The bound is read without locking,
+     * so a thread may evaluate against a slightly old bound, which only costs time.
+     */
+    private class Search {
+        private volatile double minDilation = INF;
+        private BitOrientation best;
+
+        void offer(BitOrientation orientation) {
+            BoundedDilation dilation = evaluators.get().calculate(orientation,minDilation);
+
+            if(!dilation.exceeded()) {
+                synchronized (this) {
+                    //another thread may have found a better orientation meanwhile
+                    if(dilation.dilation() < minDilation) {
+                        minDilation = dilation.dilation();
+                        best = orientation.copy();
+                    }
+                }
+            }
+        }
+
+        synchronized BestOrientation result() {
+            return new BestOrientation(best,minDilation);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+
+/**
+ * This class holds the best orientation found by a search and its oriented dilation.
+ *
+ * @param orientation the orientation with the smallest dilation or null if no orientation was evaluated
+ * @param dilation    the oriented dilation of the orientation, INF (99999) if no orientation was evaluated
+ */
+public record BestOrientation(BitOrientation orientation, double dilation) {
+}
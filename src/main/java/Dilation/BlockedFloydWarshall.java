@@ -0,0 +1,116 @@
+package Dilation;
+
+/**
+ * This class implements a cache-blocked (tiled) version of the Floyd-Warshall algorithm for large graphs.
+ * The flat matrix is divided into tiles of blockSize x blockSize entries. In every round kb
+ * the diagonal tile (kb,kb) is computed first, then the tiles in row kb and column kb which depend on it,
+ * and finally all remaining tiles which only depend on the tiles of row and column kb.
+ * Every phase works on a few tiles that fit into the cache instead of streaming the whole matrix for every k.
+ */
+public class BlockedFloydWarshall {
+    final static int INF = 99999;
+
+    /**
+     * Block size used by {@link ShortestPathKernel#blocked()}, a 64 x 64 tile of doubles takes 32 KB.
+     */
+    public final static int DEFAULT_BLOCK_SIZE = 64;
+
+    /**
+     * Calculates the shortest paths between all pairs of vertices in place.
+     * @param distanceMatrix the distance matrix of the graph, D[i][j] is stored at i*n+j.
+     * @param n the number of vertices.
+     * @param blockSize the side length of a tile.
+     */
+    public static void floydWarshall(double[] distanceMatrix, int n, int blockSize) {
+        if(blockSize<1) {
+            throw new IllegalArgumentException("Block size should be at least 1.");
+        }
+
+        int numberOfBlocks = (n+blockSize-1)/blockSize;
+
+        for(int kb=0;kb<numberOfBlocks;kb++) {
+            int kStart = kb*blockSize;
+            int kEnd = Math.min(kStart+blockSize,n);
+
+            //phase 1: the diagonal tile
+            updateBlock(distanceMatrix,n,kStart,kEnd,kStart,kEnd,kStart,kEnd);
+
+            //phase 2: the tiles in row kb and column kb
+            for(int b=0;b<numberOfBlocks;b++) {
+                if(b==kb) continue;
+                int start = b*blockSize;
+                int end = Math.min(start+blockSize,n);
+
+                updateBlock(distanceMatrix,n,kStart,kEnd,start,end,kStart,kEnd);
+                updateRows(distanceMatrix,n,start,end,kStart,kEnd,kStart,kEnd);
+            }
+
+            //phase 3: all remaining tiles
+            for(int ib=0;ib<numberOfBlocks;ib++) {
+                if(ib==kb) continue;
+                int iStart = ib*blockSize;
+                int iEnd = Math.min(iStart+blockSize,n);
+
+                for(int jb=0;jb<numberOfBlocks;jb++) {
+                    if(jb==kb) continue;
+                    int jStart = jb*blockSize;
+                    int jEnd = Math.min(jStart+blockSize,n);
+
+                    updateRows(distanceMatrix,n,iStart,iEnd,jStart,jEnd,kStart,kEnd);
+                }
+            }
+        }
+    }
+
+    /**
+     * Relaxes the tile [iStart,iEnd) x [jStart,jEnd) over all intermediate vertices k in [kStart,kEnd).
+     */
+    private static void updateBlock(double[] distanceMatrix, int n, int iStart, int iEnd,
+                                    int jStart, int jEnd, int kStart, int kEnd) {
+        for (int k = kStart; k < kEnd; k++) {
+            int kRow = k*n;
+
+            for (int i = iStart; i < iEnd; i++) {
+                int iRow = i*n;
+                double ik = distanceMatrix[iRow + k];
+
+                //no path from i over k
+                if (ik >= INF) continue;
+
+                for (int j = jStart; j < jEnd; j++) {
+                    double distance = ik + distanceMatrix[kRow + j];
+
+                    if (distance < distanceMatrix[iRow + j])
+                        distanceMatrix[iRow + j] = distance;
+                }
+            }
+        }
+    }
+
+    /**
+     * Same as updateBlock, but row by row. This is only allowed if the row k of the tile in column jStart
+     * doesn't change while the tile is updated, i.e. for the tiles in column kb and the independent tiles.
+     * One row of the tile stays in the cache for all k.
+     */
+    private static void updateRows(double[] distanceMatrix, int n, int iStart, int iEnd,
+                                   int jStart, int jEnd, int kStart, int kEnd) {
+        for (int i = iStart; i < iEnd; i++) {
+            int iRow = i*n;
+
+            for (int k = kStart; k < kEnd; k++) {
+                double ik = distanceMatrix[iRow + k];
+
+                //no path from i over k
+                if (ik >= INF) continue;
+
+                int kRow = k*n;
+                for (int j = jStart; j < jEnd; j++) {
+                    double distance = ik + distanceMatrix[kRow + j];
+
+                    if (distance < distanceMatrix[iRow + j])
+                        distanceMatrix[iRow + j] = distance;
+                }
+            }
+        }
+    }
+}
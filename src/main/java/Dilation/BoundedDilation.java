@@ -0,0 +1,12 @@
+package Dilation;
+
+/**
+ * This class holds the result of an oriented dilation calculation with an upper bound.
+ *
+ * @param dilation     the max dilation if the bound was not reached, otherwise the dilation of the first
+ *                     pair that reached the bound (a lower bound for the max dilation)
+ * @param exceeded     true if the calculation stopped early because a pair reached the bound
+ * @param checkedPairs the number of pairs whose dilation was calculated
+ */
+public record BoundedDilation(double dilation, boolean exceeded, int checkedPairs) {
+}
@@ -0,0 +1,111 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+
+import java.util.Arrays;
+
+/**
+ * This class implements the Dijkstra algorithm on an oriented complete graph,
+ * which is used to find the shortest directed paths from one vertex to all other vertices.
+ * Since the graph is complete, the simple O(n^2) version without a priority queue is used.
+ */
+public class DijkstraAlgorithm {
+    final static int INF = 99999;
+
+    /**
+     * Calculates the shortest paths from a source to all vertices.
+     * Vertices which cannot be reached get the distance INF (99999) like in the Floyd-Warshall distance matrix.
+     * @param orientation the orientation of the complete graph.
+     * @param weights the Euclidean distances between all points.
+     * @param source the start vertex.
+     * @param distances the array which is filled with the distances from the source.
+     * @param visited scratch array of size n.
+     */
+    public static void dijkstra(BitOrientation orientation, double[][] weights, int source,
+                                double[] distances, boolean[] visited) {
+        dijkstra(orientation,weights,source,distances,visited,-1,-1);
+    }
+
+    /**
+     * Calculates the shortest paths from a source to all vertices while the edge between u and v is ignored.
+     * @param orientation the orientation of the complete graph.
+     * @param weights the Euclidean distances between all points.
+     * @param source the start vertex.
+     * @param distances the array which is filled with the distances from the source.
+     * @param visited scratch array of size n.
+     * @param u the first vertex of the ignored edge or -1.
+     * @param v the second vertex of the ignored edge or -1.
+     */
+    public static void dijkstra(BitOrientation orientation, double[][] weights, int source,
+                                double[] distances, boolean[] visited, int u, int v) {
+        int numberOfPoints = orientation.getNumberOfPoints();
+
+        Arrays.fill(distances,0,numberOfPoints,INF);
+        Arrays.fill(visited,0,numberOfPoints,false);
+        distances[source] = 0;
+
+        for(int step=0;step<numberOfPoints;step++) {
+            //pick the closest vertex which is not visited yet
+            int current = -1;
+            for(int k=0;k<numberOfPoints;k++) {
+                if(!visited[k] && (current==-1 || distances[k]<distances[current])) {
+                    current = k;
+                }
+            }
+
+            //all remaining vertices are unreachable
+            if(distances[current]>=INF) break;
+            visited[current] = true;
+
+            //relax all outgoing edges of the current vertex
+            for(int k=0;k<numberOfPoints;k++) {
+                if(visited[k] || !orientation.hasEdge(current,k)) continue;
+                if((current==u && k==v) || (current==v && k==u)) continue;
+
+                double distance = distances[current] + weights[current][k];
+                if(distance < distances[k]) {
+                    distances[k] = distance;
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculates the shortest paths from a source to all vertices on a flat distance matrix
+     * (see {@link AdjacencyMatrix#fillDistanceMatrix}), missing edges have the weight INF.
+     * @param adjacencyMatrix the flat row-major distance matrix of the oriented graph.
+     * @param numberOfPoints the number of vertices.
+     * @param source the start vertex.
+     * @param distances the array which is filled with the distances from the source.
+     * @param visited scratch array of size n.
+     */
+    public static void dijkstra(double[] adjacencyMatrix, int numberOfPoints, int source,
+                                double[] distances, boolean[] visited) {
+        Arrays.fill(distances,0,numberOfPoints,INF);
+        Arrays.fill(visited,0,numberOfPoints,false);
+        distances[source] = 0;
+
+        for(int step=0;step<numberOfPoints;step++) {
+            //pick the closest vertex which is not visited yet
+            int current = -1;
+            for(int k=0;k<numberOfPoints;k++) {
+                if(!visited[k] && (current==-1 || distances[k]<distances[current])) {
+                    current = k;
+                }
+            }
+
+            //all remaining vertices are unreachable
+            if(distances[current]>=INF) break;
+            visited[current] = true;
+
+            //relax all outgoing edges of the current vertex, missing edges never improve a distance
+            int row = current*numberOfPoints;
+            for(int k=0;k<numberOfPoints;k++) {
+                double distance = distances[current] + adjacencyMatrix[row+k];
+                if(distance < distances[k]) {
+                    distances[k] = distance;
+                }
+            }
+        }
+    }
+}
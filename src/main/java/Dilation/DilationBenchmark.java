@@ -0,0 +1,446 @@
+package Dilation;
+
+import GreedyEdges.GreedyAlgorithm;
+import Orientation.BitOrientation;
+import Orientation.OrientationMatrix;
+import Points.Point;
+import Points.PointGenerator;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class compares the running times of different ways to evaluate the oriented dilation
+ * of a single orientation. Every size is measured on random point-sets with random orientations.
+ */
+public class DilationBenchmark {
+
+    //number of measured evaluations per size
+    final static int REPETITIONS = 20;
+
+    /**
+     * Evaluates an orientation the old way: every pair of points runs its own Floyd-Warshall.
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     * @param orientation is a bit string representing an orientation of a complete graph on this point set
+     * @return The maximum dilation value in the graph.
+     */
+    public static double calculatePerPair(List<Point> points, String orientation) {
+        double[][] adjacencyMatrix = AdjacencyMatrix.createDistanceMatrix(points,orientation);
+        double maxDilation = 0;
+
+        for(int i=0;i<points.size();i++) {
+            for(int j=i+1;j<points.size();j++) {
+                maxDilation = Math.max(maxDilation,OrientedDilation.calculateDilation(adjacencyMatrix,i,j));
+            }
+        }
+        return maxDilation;
+    }
+
+    /**
+     * Measures the average time of the per-pair evaluation and of the evaluation with
+     * a single shortest path computation per orientation for n = 5..50.
+     */
+    public static void compareShortestPathModes() {
+        int[] indices = new int[]{5,10,15,20,25,30,35,40,45,50};
+
+        System.out.println("n;perPair[ms];once[ms];speedup");
+
+        for(int n : indices) {
+            List<Point> points = PointGenerator.generateUniquePoints(n);
+            //random orientation of all edges
+            String orientation = OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points));
+
+            //warm up the JIT before measuring
+            for(int r=0;r<3;r++) {
+                calculatePerPair(points,orientation);
+                OrientedDilation.calculateOrientedDilation(points,orientation);
+            }
+
+            long start = System.nanoTime();
+            double perPair = 0;
+            for(int r=0;r<REPETITIONS;r++) {
+                perPair = calculatePerPair(points,orientation);
+            }
+            double perPairTime = (System.nanoTime()-start)/1e6/REPETITIONS;
+
+            start = System.nanoTime();
+            double once = 0;
+            for(int r=0;r<REPETITIONS;r++) {
+                once = OrientedDilation.calculateOrientedDilation(points,orientation);
+            }
+            double onceTime = (System.nanoTime()-start)/1e6/REPETITIONS;
+
+            //both versions must agree
+            if(perPair != once) {
+                throw new IllegalStateException("Different dilations for n="+n+": "+perPair+" and "+once);
+            }
+
+            System.out.println(String.format(Locale.US,"%d;%.3f;%.3f;%.1f",
+                    n,perPairTime,onceTime,perPairTime/onceTime));
+        }
+    }
+
+    /**
+     * Measures allocated memory and garbage collections while evaluating many orientations, once with the
+     * string evaluation (new matrices for every orientation) and once with the flat kernel in a reused workspace.
+     */
+    public static void compareAllocations() {
+        int evaluations = 200000;
+        int[] indices = new int[]{6,10,20};
+
+        System.out.println("n;mode;time[ms];allocated[MB];allocationRate[MB/s];gcCount;gcTime[ms]");
+
+        for(int n : indices) {
+            List<Point> points = PointGenerator.generateUniquePoints(n);
+            PointSetGeometry geometry = new PointSetGeometry(points);
+            DilationWorkspace workspace = new DilationWorkspace(n);
+
+            //a few random orientations which are evaluated in turns
+            String[] strings = new String[64];
+            BitOrientation[] orientations = new BitOrientation[64];
+            for(int k=0;k<strings.length;k++) {
+                strings[k] = OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points));
+                orientations[k] = BitOrientation.fromString(strings[k],n);
+            }
+
+            int count = n<=10 ? evaluations : evaluations/10;
+
+            for(int mode=0;mode<2;mode++) {
+                //warm up the JIT before measuring
+                runEvaluations(mode,count/10,points,strings,geometry,orientations,workspace);
+
+                long allocatedBefore = allocatedBytes();
+                long gcCountBefore = gcCount();
+                long gcTimeBefore = gcTime();
+                long start = System.nanoTime();
+
+                runEvaluations(mode,count,points,strings,geometry,orientations,workspace);
+
+                double time = (System.nanoTime()-start)/1e6;
+                double allocated = (allocatedBytes()-allocatedBefore)/1e6;
+
+                System.out.println(String.format(Locale.US,"%d;%s;%.1f;%.1f;%.1f;%d;%d",
+                        n, mode==0 ? "string" : "workspace", time, allocated, allocated/time*1000,
+                        gcCount()-gcCountBefore, gcTime()-gcTimeBefore));
+            }
+        }
+    }
+
+    /**
+     * Evaluates the orientations in turns, mode 0 uses strings and mode 1 the workspace.
+     */
+    private static double runEvaluations(int mode, int count, List<Point> points, String[] strings,
+                                         PointSetGeometry geometry, BitOrientation[] orientations,
+                                         DilationWorkspace workspace) {
+        double sum = 0;
+        for(int r=0;r<count;r++) {
+            int k = r%strings.length;
+            if(mode==0) sum += OrientedDilation.calculateOrientedDilation(points,strings[k]);
+            else sum += OrientedDilation.calculateOrientedDilation(geometry,orientations[k],workspace);
+        }
+        return sum;
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far.
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(bean instanceof com.sun.management.ThreadMXBean threadBean) {
+            return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for(GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0,bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for(GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0,bean.getCollectionTime());
+        }
+        return time;
+    }
+
+    /**
+     * Measures the average time of the scalar and the vectorized Floyd-Warshall kernel.
+     * The JVM must be started with --add-modules jdk.incubator.vector to measure the vectorized kernel.
+     */
+    public static void compareKernels() {
+        if(!ShortestPathKernel.isVectorAvailable()) {
+            System.out.println("Vector API not available, start with --add-modules jdk.incubator.vector");
+            return;
+        }
+
+        int[] indices = new int[]{8,16,32,64,128,256,512};
+        ShortestPathKernel[] kernels = new ShortestPathKernel[]{ShortestPathKernel.scalar(),ShortestPathKernel.vector()};
+
+        System.out.println("n;scalar[ms];vector[ms];speedup");
+
+        for(int n : indices) {
+            List<Point> points = PointGenerator.generateUniquePoints(n);
+            PointSetGeometry geometry = new PointSetGeometry(points);
+            BitOrientation orientation = new BitOrientation(n);
+            OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points),orientation);
+
+            double[] input = new double[n*n];
+            AdjacencyMatrix.fillDistanceMatrix(geometry,orientation,input);
+            double[] matrix = new double[n*n];
+            double[][] results = new double[kernels.length][];
+            double[] times = new double[kernels.length];
+
+            int repetitions = Math.max(10, 20000000/(n*n*n));
+
+            for(int k=0;k<kernels.length;k++) {
+                //warm up the JIT before measuring
+                for(int r=0;r<repetitions;r++) {
+                    System.arraycopy(input,0,matrix,0,input.length);
+                    kernels[k].floydWarshall(matrix,n);
+                }
+
+                long start = System.nanoTime();
+                for(int r=0;r<repetitions;r++) {
+                    System.arraycopy(input,0,matrix,0,input.length);
+                    kernels[k].floydWarshall(matrix,n);
+                }
+                times[k] = (System.nanoTime()-start)/1e6/repetitions;
+                results[k] = matrix.clone();
+            }
+
+            //both kernels must agree
+            if(!Arrays.equals(results[0],results[1])) {
+                throw new IllegalStateException("Different shortest paths for n="+n);
+            }
+
+            System.out.println(String.format(Locale.US,"%d;%.4f;%.4f;%.1f",n,times[0],times[1],times[0]/times[1]));
+        }
+    }
+
+    /**
+     * Measures the average time of the naive scalar Floyd-Warshall loop and of the blocked version with
+     * different tile sizes for n = 64..1024, the blocked version pays off once the matrix no longer fits into the cache.
+     */
+    public static void compareBlocked() {
+        int[] indices = new int[]{64,128,256,512,768,1024};
+        int[] blockSizes = new int[]{32,64,128};
+
+        StringBuilder header = new StringBuilder("n;naive[ms]");
+        for(int blockSize : blockSizes) {
+            header.append(";blocked").append(blockSize).append("[ms];speedup");
+        }
+        System.out.println(header);
+
+        for(int n : indices) {
+            List<Point> points = PointGenerator.generateUniquePoints(n);
+            PointSetGeometry geometry = new PointSetGeometry(points);
+            BitOrientation orientation = new BitOrientation(n);
+            OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points),orientation);
+
+            double[] input = new double[n*n];
+            AdjacencyMatrix.fillDistanceMatrix(geometry,orientation,input);
+            double[] matrix = new double[n*n];
+
+            int repetitions = Math.max(3, 50000000/(n*n*n));
+
+            double[] naive = new double[n*n];
+            double naiveTime = measureKernel(ShortestPathKernel.scalar(),input,matrix,n,repetitions);
+            System.arraycopy(matrix,0,naive,0,naive.length);
+
+            StringBuilder line = new StringBuilder(String.format(Locale.US,"%d;%.3f",n,naiveTime));
+
+            for(int blockSize : blockSizes) {
+                double time = measureKernel(ShortestPathKernel.blocked(blockSize),input,matrix,n,repetitions);
+
+                //the tiles sum up the same paths in a different order
+                for(int k=0;k<naive.length;k++) {
+                    if(Math.abs(naive[k]-matrix[k]) > 1e-9) {
+                        throw new IllegalStateException("Different shortest paths for n="+n+" and block size "+blockSize);
+                    }
+                }
+                line.append(String.format(Locale.US,";%.3f;%.2f",time,naiveTime/time));
+            }
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * Runs a kernel on copies of the input after a warm up and returns the average time in ms,
+     * the result of the last run stays in matrix.
+     */
+    private static double measureKernel(ShortestPathKernel kernel, double[] input, double[] matrix, int n, int repetitions) {
+        for(int r=0;r<repetitions;r++) {
+            System.arraycopy(input,0,matrix,0,input.length);
+            kernel.floydWarshall(matrix,n);
+        }
+
+        long start = System.nanoTime();
+        for(int r=0;r<repetitions;r++) {
+            System.arraycopy(input,0,matrix,0,input.length);
+            kernel.floydWarshall(matrix,n);
+        }
+        return (System.nanoTime()-start)/1e6/repetitions;
+    }
+
+    /**
+     * Measures the evaluation of one greedy orientation of a big point set with the sequential evaluator
+     * and with the parallel evaluator on pools with 1, 2, 4, ... threads up to the number of cores.
+     */
+    public static void compareParallel() {
+        int[] indices = new int[]{250,500,1000};
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("n;threads;time[ms];speedup");
+
+        for(int n : indices) {
+            List<Point> points = PointGenerator.generateUniquePoints(n);
+            PointSetGeometry geometry = new PointSetGeometry(points);
+            BitOrientation orientation = GreedyAlgorithm.createOrientation(points);
+
+            //warm up the JIT before measuring
+            ParallelOrientedDilation.calculateSequential(geometry,orientation);
+
+            long start = System.nanoTime();
+            double sequential = ParallelOrientedDilation.calculateSequential(geometry,orientation);
+            double sequentialTime = (System.nanoTime()-start)/1e6;
+            System.out.println(String.format(Locale.US,"%d;sequential;%.1f;1.0",n,sequentialTime));
+
+            for(int threads=1;threads<=cores;threads = threads<cores ? Math.min(2*threads,cores) : threads+1) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                ParallelOrientedDilation evaluator = new ParallelOrientedDilation(pool);
+                evaluator.calculateOrientedDilation(geometry,orientation);
+
+                start = System.nanoTime();
+                double parallel = evaluator.calculateOrientedDilation(geometry,orientation);
+                double time = (System.nanoTime()-start)/1e6;
+                pool.shutdown();
+
+                //both modes must agree exactly
+                if(parallel != sequential) {
+                    throw new IllegalStateException("Different dilations for n="+n+": "+sequential+" and "+parallel);
+                }
+
+                System.out.println(String.format(Locale.US,"%d;%d;%.1f;%.1f",n,threads,time,sequentialTime/time));
+            }
+        }
+    }
+
+    /**
+     * Measures the streaming evaluator against the parallel evaluator with a full shortest path matrix
+     * on greedy orientations and prints the memory of the matrices the streaming evaluator doesn't need.
+     */
+    public static void compareStreaming() {
+        int[] indices = new int[]{250,500,1000};
+
+        System.out.println("n;matrix[ms];streaming[ms];matrices[MB];streamingPerWorker[KB]");
+
+        for(int n : indices) {
+            List<Point> points = PointGenerator.generateUniquePoints(n);
+            BitOrientation orientation = GreedyAlgorithm.createOrientation(points);
+
+            long start = System.nanoTime();
+            double matrix = new ParallelOrientedDilation().calculateOrientedDilation(points,orientation);
+            double matrixTime = (System.nanoTime()-start)/1e6;
+
+            start = System.nanoTime();
+            double streaming = new StreamingOrientedDilation(points).calculateOrientedDilation(orientation);
+            double streamingTime = (System.nanoTime()-start)/1e6;
+
+            if(Math.abs(matrix-streaming) > 1e-9) {
+                throw new IllegalStateException("Different dilations for n="+n+": "+matrix+" and "+streaming);
+            }
+
+            //distances, triangles, adjacency and shortest paths against three double rows and the visited flags
+            double matrices = 4.0*n*n*8/1e6;
+            double perWorker = (3.0*n*8+n)/1e3;
+            System.out.println(String.format(Locale.US,"%d;%.1f;%.1f;%.1f;%.1f",
+                    n,matrixTime,streamingTime,matrices,perWorker));
+        }
+    }
+
+    /**
+     * Measures the evaluation of many small orientations one after another with the scalar kernel
+     * and with several orientations in the vector lanes for n = 4..10.
+     * The JVM must be started with --add-modules jdk.incubator.vector to measure the lanes.
+     */
+    public static void compareLanes() {
+        if(!ShortestPathKernel.isVectorAvailable()) {
+            System.out.println("Vector API not available, start with --add-modules jdk.incubator.vector");
+            return;
+        }
+
+        int[] indices = new int[]{4,5,6,7,8,9,10};
+        int count = 4096;
+
+        System.out.println("n;lanes;scalar[us/orientation];lanes[us/orientation];speedup");
+
+        for(int n : indices) {
+            List<Point> points = PointGenerator.generateUniquePoints(n);
+            PointSetGeometry geometry = new PointSetGeometry(points);
+
+            BitOrientation[] orientations = new BitOrientation[count];
+            for(int k=0;k<count;k++) {
+                orientations[k] = new BitOrientation(n);
+                OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points),orientations[k]);
+            }
+
+            double[] scalar = new double[count];
+            double[] lanes = new double[count];
+            int repetitions = 20;
+
+            //warm up the JIT before measuring
+            for(int r=0;r<repetitions;r++) {
+                evaluateScalar(geometry,orientations,scalar);
+                VectorLaneDilation.calculateOrientedDilation(geometry,orientations,lanes);
+            }
+
+            long start = System.nanoTime();
+            for(int r=0;r<repetitions;r++) {
+                evaluateScalar(geometry,orientations,scalar);
+            }
+            double scalarTime = (System.nanoTime()-start)/1e3/repetitions/count;
+
+            start = System.nanoTime();
+            for(int r=0;r<repetitions;r++) {
+                VectorLaneDilation.calculateOrientedDilation(geometry,orientations,lanes);
+            }
+            double lanesTime = (System.nanoTime()-start)/1e3/repetitions/count;
+
+            //every lane must agree with the scalar evaluation
+            if(!Arrays.equals(scalar,lanes)) {
+                throw new IllegalStateException("Different dilations for n="+n);
+            }
+
+            System.out.println(String.format(Locale.US,"%d;%d;%.3f;%.3f;%.1f",
+                    n,VectorLaneDilation.lanes(),scalarTime,lanesTime,scalarTime/lanesTime));
+        }
+    }
+
+    /**
+     * Evaluates the orientations one after another with the scalar kernel in the workspace of the thread.
+     */
+    private static void evaluateScalar(PointSetGeometry geometry, BitOrientation[] orientations, double[] dilations) {
+        for(int k=0;k<orientations.length;k++) {
+            dilations[k] = OrientedDilation.calculateOrientedDilation(geometry,orientations[k],ShortestPathKernel.scalar());
+        }
+    }
+
+    public static void main(String[] args) {
+        compareShortestPathModes();
+        compareAllocations();
+        compareKernels();
+        compareBlocked();
+        compareParallel();
+        compareStreaming();
+        compareLanes();
+    }
+}
@@ -0,0 +1,88 @@
+package Dilation;
+
+/**
+ * This class holds the scratch arrays for evaluating orientations of point sets with up to
+ * a given number of points. The arrays are reused for every evaluation, so evaluating many orientations
+ * doesn't create garbage. A workspace must only be used by one thread at a time,
+ * {@link #current(int)} returns a separate workspace for every thread.
+ */
+public class DilationWorkspace {
+
+    private static final ThreadLocal<DilationWorkspace> WORKSPACES = new ThreadLocal<>();
+
+    //the number of points the arrays are big enough for
+    private final int capacity;
+
+    //the implementation of Floyd-Warshall used with this workspace
+    private final ShortestPathKernel kernel;
+
+    //flat row-major n×n matrix for the shortest paths
+    private final double[] distanceMatrix;
+
+    //scratch arrays for single source shortest paths
+    private final double[] distances;
+    private final boolean[] visited;
+
+    /**
+     * Creates a workspace for point sets with up to capacity points.
+     * The Floyd-Warshall kernel is selected automatically (see {@link ShortestPathKernel#automatic()}).
+     */
+    public DilationWorkspace(int capacity) {
+        this(capacity,ShortestPathKernel.automatic());
+    }
+
+    /**
+     * Creates a workspace for point sets with up to capacity points which uses the given Floyd-Warshall kernel.
+     */
+    public DilationWorkspace(int capacity, ShortestPathKernel kernel) {
+        this.capacity = capacity;
+        this.kernel = kernel;
+        distanceMatrix = new double[capacity*capacity];
+        distances = new double[capacity];
+        visited = new boolean[capacity];
+    }
+
+    /**
+     * Returns the workspace of the current thread. A new workspace is only created
+     * if the thread has none yet or its workspace is too small.
+     * @param numberOfPoints the number of points of the evaluated point set.
+     */
+    public static DilationWorkspace current(int numberOfPoints) {
+        DilationWorkspace workspace = WORKSPACES.get();
+
+        if(workspace == null || workspace.capacity < numberOfPoints) {
+            workspace = new DilationWorkspace(numberOfPoints);
+            WORKSPACES.set(workspace);
+        }
+        return workspace;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public ShortestPathKernel getKernel() {
+        return kernel;
+    }
+
+    /**
+     * @return flat matrix with at least n*n entries, D[i][j] is stored at i*n+j.
+     */
+    public double[] getDistanceMatrix() {
+        return distanceMatrix;
+    }
+
+    /**
+     * @return array with at least n entries for the distances of one source.
+     */
+    public double[] getDistances() {
+        return distances;
+    }
+
+    /**
+     * @return array with at least n entries for the visited vertices of one source.
+     */
+    public boolean[] getVisited() {
+        return visited;
+    }
+}
@@ -1,11 +1,11 @@
 package Dilation;
-import java.util.Arrays;
 
 /**
  * This class implements the Floyd-Warshall algorithm,
  * which is used to find the shortest directed paths between all pairs of vertices in a weighted graph.
  */
 public class FloydWarshallAlgorithm {
+    final static int INF = 99999;
 
     /**
      * Implementation of the Floyd-Warshall algorithm to calculate the shortest paths between all pairs of vertices.
@@ -41,6 +41,34 @@ public class FloydWarshallAlgorithm {
         return distanceMatrix;
     }
 
+    /**
+     * Implementation of the Floyd-Warshall algorithm on a flat row-major matrix, D[i][j] is stored at i*n+j.
+     * The matrix is updated in place, so no new arrays are created.
+     * @param distanceMatrix the distance matrix of the graph (see {@link #createDistanceMatrix(double[][])}),
+     * afterwards it holds the shortest paths between all pairs of vertices.
+     * @param n the number of vertices.
+     */
+    public static void floydWarshall(double[] distanceMatrix, int n) {
+        for (int k = 0; k < n; k++) {
+            int kRow = k*n;
+
+            for (int i = 0; i < n; i++) {
+                int iRow = i*n;
+                double ik = distanceMatrix[iRow + k];
+
+                //no path from i over k
+                if (ik >= INF) continue;
+
+                for (int j = 0; j < n; j++) {
+                    double distance = ik + distanceMatrix[kRow + j];
+
+                    if (distance < distanceMatrix[iRow + j])
+                        distanceMatrix[iRow + j] = distance;
+                }
+            }
+        }
+    }
+
     /**
      * This method creates a distance matrix of a graph that it used by FloydWarshall algorithm.
      * The distance matrix D is created by copying and updating the adjacency matrix.
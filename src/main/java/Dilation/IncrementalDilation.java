@@ -0,0 +1,200 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+import Points.Point;
+
+import java.util.List;
+
+/**
+ * This class evaluates the oriented dilation of an orientation that changes one edge at a time.
+ * It keeps the all-to-all shortest path matrix of the current orientation. When an edge i->j is reversed,
+ * only the rows of the sources whose shortest paths used i->j are recomputed (with Dijkstra) and the new edge j->i
+ * is inserted in O(n^2). If too many rows are affected, the whole matrix is recomputed with Floyd-Warshall.
+ */
+public class IncrementalDilation {
+    final static int INF = 99999;
+
+    //tolerance for detecting shortest paths through an edge
+    final static double EPSILON = 1e-9;
+
+    private final int numberOfPoints;
+
+    //the current orientation, changed in place by flip
+    private final BitOrientation orientation;
+
+    //Euclidean distances between all points
+    private final double[][] euclideanDistances;
+
+    //perimeters of the smallest triangle through every two points
+    private final double[][] triangles;
+
+    //flat distance matrix of the current orientation (INF for missing edges), updated by flip
+    private final double[] adjacencyMatrix;
+
+    //shortest paths of the current orientation
+    private final double[][] distanceMatrix;
+
+    //scratch arrays for flip and Dijkstra
+    private final boolean[] affected;
+    private final boolean[] visited;
+
+    private double maxDilation;
+    private int worstI;
+    private int worstJ;
+
+    /**
+     * Creates the evaluator and computes the shortest paths of the start orientation.
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     * @param orientation the start orientation, it is copied.
+     */
+    public IncrementalDilation(List<Point> points, BitOrientation orientation) {
+        this(new PointSetGeometry(points),orientation);
+    }
+
+    /**
+     * Creates the evaluator for a point set with precomputed geometry.
+     * @param geometry the distances and triangles of the point set.
+     * @param orientation the start orientation, it is copied.
+     */
+    public IncrementalDilation(PointSetGeometry geometry, BitOrientation orientation) {
+        if(orientation.getNumberOfPoints() != geometry.getNumberOfPoints()) {
+            throw new IllegalArgumentException("Orientation doesn't match point set: "+orientation);
+        }
+
+        this.numberOfPoints = geometry.getNumberOfPoints();
+        this.orientation = orientation.copy();
+        this.affected = new boolean[numberOfPoints];
+        this.visited = new boolean[numberOfPoints];
+        this.distanceMatrix = new double[numberOfPoints][numberOfPoints];
+        this.adjacencyMatrix = new double[numberOfPoints*numberOfPoints];
+
+        euclideanDistances = geometry.getDistances();
+        triangles = geometry.getTriangles();
+        AdjacencyMatrix.fillDistanceMatrix(geometry,this.orientation,adjacencyMatrix);
+
+        recompute();
+    }
+
+    /**
+     * Computes the shortest paths and the max dilation of the current orientation from scratch.
+     */
+    public void recompute() {
+        //run Floyd-Warshall in the flat matrix of the workspace and copy the rows
+        DilationWorkspace workspace = DilationWorkspace.current(numberOfPoints);
+        double[] flatMatrix = workspace.getDistanceMatrix();
+        System.arraycopy(adjacencyMatrix,0,flatMatrix,0,adjacencyMatrix.length);
+        workspace.getKernel().floydWarshall(flatMatrix,numberOfPoints);
+
+        for(int i=0;i<numberOfPoints;i++) {
+            System.arraycopy(flatMatrix,i*numberOfPoints,distanceMatrix[i],0,numberOfPoints);
+        }
+        updateMaxDilation();
+    }
+
+    /**
+     * Reverses the edge between the vertices i and j and updates the shortest paths and the max dilation.
+     * @param i the first vertex of the edge
+     * @param j the second vertex of the edge
+     */
+    public void flip(int i, int j) {
+        if(i==j) {
+            throw new IllegalArgumentException("Indexes are invalid (i==j).");
+        }
+
+        //the edge u->v is removed and v->u is added
+        int u = orientation.hasEdge(i,j) ? i : j;
+        int v = u==i ? j : i;
+        double weight = euclideanDistances[u][v];
+
+        //a source is affected if a shortest path from it reaches v over u->v
+        int numberOfAffected = 0;
+
+        for(int a=0;a<numberOfPoints;a++) {
+            affected[a] = distanceMatrix[a][u] + weight <= distanceMatrix[a][v] + EPSILON;
+            if(affected[a]) numberOfAffected++;
+        }
+
+        orientation.flip(u,v);
+        adjacencyMatrix[u*numberOfPoints+v] = INF;
+
+        //too many rows changed, a full recomputation is cheaper
+        if(2*numberOfAffected > numberOfPoints) {
+            adjacencyMatrix[v*numberOfPoints+u] = weight;
+            recompute();
+            return;
+        }
+
+        //recompute the affected rows without the edge between u and v
+        for(int a=0;a<numberOfPoints;a++) {
+            if(affected[a]) {
+                DijkstraAlgorithm.dijkstra(adjacencyMatrix,numberOfPoints,a,distanceMatrix[a],visited);
+            }
+        }
+        adjacencyMatrix[v*numberOfPoints+u] = weight;
+
+        //insert the edge v->u, every shortest path uses it at most once
+        for(int a=0;a<numberOfPoints;a++) {
+            double toV = distanceMatrix[a][v] + weight;
+
+            for(int b=0;b<numberOfPoints;b++) {
+                double distance = toV + distanceMatrix[u][b];
+
+                if(distance < distanceMatrix[a][b]) {
+                    distanceMatrix[a][b] = distance;
+                }
+            }
+        }
+
+        updateMaxDilation();
+    }
+
+    /**
+     * Finds the pair with the biggest dilation in the current distance matrix.
+     */
+    private void updateMaxDilation() {
+        maxDilation = 0;
+        worstI = 0;
+        worstJ = 1;
+
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=i+1;j<numberOfPoints;j++) {
+                double dilation = getClosedWalk(i,j)/triangles[i][j];
+
+                if(dilation > maxDilation) {
+                    maxDilation = dilation;
+                    worstI = i;
+                    worstJ = j;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the length of the shortest closed walk through i and j in the current orientation.
+     */
+    public double getClosedWalk(int i, int j) {
+        if(i==j) return 0;
+        return distanceMatrix[i][j] + distanceMatrix[j][i];
+    }
+
+    /**
+     * @return the max dilation of the current orientation.
+     */
+    public double getMaxDilation() {
+        return maxDilation;
+    }
+
+    /**
+     * @return the pair {i,j} with i<j that attains the max dilation.
+     */
+    public int[] getWorstPair() {
+        return new int[]{worstI,worstJ};
+    }
+
+    /**
+     * @return the current orientation. It must not be changed from outside, use flip instead.
+     */
+    public BitOrientation getOrientation() {
+        return orientation;
+    }
+}
@@ -1,6 +1,8 @@
 package Dilation;
 import java.util.Arrays;
 import java.util.List;
+
+import Orientation.BitOrientation;
 import Points.Point;
 
 
@@ -24,7 +26,150 @@ public class OrientedDilation {
         //build an adjacency matrix for the graph
         double[][] adjacencyMatrix = AdjacencyMatrix.createDistanceMatrix(points,orientation);
 
-        int numberPfPoints = points.size();
+        return calculateOrientedDilation(adjacencyMatrix);
+    }
+
+    /**
+     * Calculates the maximum dilation in the entire graph for a packed orientation.
+     *
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     * @param orientation the packed orientation of a complete graph on this point set
+     * @return The maximum dilation value in the graph.
+     */
+    public static double calculateOrientedDilation(List<Point> points, BitOrientation orientation) {
+        //build an adjacency matrix for the graph
+        double[][] adjacencyMatrix = AdjacencyMatrix.createDistanceMatrix(points,orientation);
+
+        return calculateOrientedDilation(adjacencyMatrix);
+    }
+
+    /**
+     * Calculates the maximum dilation in the entire graph from the precomputed geometry of the point set.
+     * The distances and the smallest triangles are read from the geometry, so only the shortest paths
+     * are computed for the orientation.
+     *
+     * @param geometry the distances and triangles of the point set.
+     * @param orientation the packed orientation of a complete graph on this point set
+     * @return The maximum dilation value in the graph.
+     */
+    public static double calculateOrientedDilation(PointSetGeometry geometry, BitOrientation orientation) {
+        return calculateOrientedDilation(geometry,orientation,DilationWorkspace.current(geometry.getNumberOfPoints()));
+    }
+
+    /**
+     * Calculates the maximum dilation in the entire graph in the arrays of a workspace.
+     * The shortest paths are computed in a flat matrix of the workspace with the kernel of the workspace,
+     * so this method doesn't create garbage.
+     *
+     * @param geometry the distances and triangles of the point set.
+     * @param orientation the packed orientation of a complete graph on this point set
+     * @param workspace the scratch arrays, big enough for the point set.
+     * @return The maximum dilation value in the graph.
+     */
+    public static double calculateOrientedDilation(PointSetGeometry geometry, BitOrientation orientation,
+                                                   DilationWorkspace workspace) {
+        return calculateOrientedDilation(geometry,orientation,workspace,workspace.getKernel());
+    }
+
+    /**
+     * Calculates the maximum dilation in the entire graph with the given implementation of Floyd-Warshall,
+     * e.g. {@link ShortestPathKernel#blocked(int)} for large point sets.
+     *
+     * @param geometry the distances and triangles of the point set.
+     * @param orientation the packed orientation of a complete graph on this point set
+     * @param kernel the implementation of the Floyd-Warshall algorithm.
+     * @return The maximum dilation value in the graph.
+     */
+    public static double calculateOrientedDilation(PointSetGeometry geometry, BitOrientation orientation,
+                                                   ShortestPathKernel kernel) {
+        DilationWorkspace workspace = DilationWorkspace.current(geometry.getNumberOfPoints());
+        return calculateOrientedDilation(geometry,orientation,workspace,kernel);
+    }
+
+    /**
+     * Calculates the maximum dilation in the entire graph in the arrays of a workspace with the given kernel.
+     */
+    private static double calculateOrientedDilation(PointSetGeometry geometry, BitOrientation orientation,
+                                                    DilationWorkspace workspace, ShortestPathKernel kernel) {
+        int numberOfPoints = geometry.getNumberOfPoints();
+        if(workspace.getCapacity() < numberOfPoints) {
+            throw new IllegalArgumentException("Workspace is too small for "+numberOfPoints+" points.");
+        }
+        double[] distanceMatrix = workspace.getDistanceMatrix();
+
+        //build the all-to-all shortest path matrix in place
+        AdjacencyMatrix.fillDistanceMatrix(geometry,orientation,distanceMatrix);
+        kernel.floydWarshall(distanceMatrix,numberOfPoints);
+
+        double[][] triangles = geometry.getTriangles();
+        double maxDilation = 0;
+
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=i+1;j<numberOfPoints;j++) {
+                double walk = distanceMatrix[i*numberOfPoints+j] + distanceMatrix[j*numberOfPoints+i];
+                maxDilation = Math.max(maxDilation,walk/triangles[i][j]);
+            }
+        }
+        return maxDilation;
+    }
+
+    /**
+     * Calculates the maximum dilation in the entire graph, but stops as soon as the dilation of one pair
+     * reaches the upper bound. The pairs are checked in the order "likely worst first".
+     * This method prepares the point set for every call, loops over many orientations of the same point set
+     * should keep one {@link ThresholdDilation} instead.
+     *
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     * @param orientation the packed orientation of a complete graph on this point set
+     * @param upperBound the bound, e.g. the smallest dilation found so far
+     * @return the max dilation if it is smaller than the bound, otherwise the dilation
+     * of the pair that reached the bound together with the information that the calculation exited early.
+     */
+    public static BoundedDilation calculateOrientedDilation(List<Point> points, BitOrientation orientation,
+                                                            double upperBound) {
+        return new ThresholdDilation(points).calculate(orientation,upperBound);
+    }
+
+    /**
+     * Calculates the maximum dilation of several orientations of the same point set.
+     * If the Vector API is available, the orientations are evaluated together in the lanes of the vectors
+     * (see {@link VectorLaneDilation}), otherwise one after another.
+     *
+     * @param geometry the distances and triangles of the point set.
+     * @param orientations the packed orientations of a complete graph on this point set
+     * @param dilations the array which is filled with the maximum dilation of every orientation.
+     */
+    public static void calculateOrientedDilation(PointSetGeometry geometry, BitOrientation[] orientations,
+                                                 double[] dilations) {
+        if(dilations.length < orientations.length) {
+            throw new IllegalArgumentException("Array for the dilations is too small.");
+        }
+
+        if(orientations.length==0) return;
+
+        if(ShortestPathKernel.isVectorAvailable()) {
+            VectorLaneDilation.calculateOrientedDilation(geometry,orientations,dilations);
+            return;
+        }
+
+        for(int k=0;k<orientations.length;k++) {
+            dilations[k] = calculateOrientedDilation(geometry,orientations[k],ShortestPathKernel.scalar());
+        }
+    }
+
+    /**
+     * Calculates the maximum dilation of the graph given by its adjacency matrix.
+     *
+     * @param adjacencyMatrix An n×n matrix which for every pair of vertexes i,j holds
+     * the distance between them if there is a directed edge i->j and 0 otherwise.
+     * @return The maximum dilation value in the graph.
+     */
+    private static double calculateOrientedDilation(double[][] adjacencyMatrix) {
+
+        //build the all-to-all shortest path matrix only once for the whole orientation
+        double[][] distanceMatrix = FloydWarshallAlgorithm.floydWarshall(adjacencyMatrix);
+
+        int numberPfPoints = adjacencyMatrix.length;
         double maxDilation = 0;
 
         //loop through the top half of the matrix
@@ -32,7 +177,7 @@ public class OrientedDilation {
 
             for(int j=i+1;j<numberPfPoints;j++) {
                 //calculate dilation for every pair of points
-                double dilation = calculateDilation(adjacencyMatrix,i,j);
+                double dilation = calculateDilation(adjacencyMatrix,distanceMatrix,i,j);
                 //save the biggest dilation
                 maxDilation = Math.max(maxDilation,dilation);
             }
@@ -61,6 +206,31 @@ public class OrientedDilation {
     }
 
 
+    /**
+     * Calculates the oriented dilation between two points from an already computed shortest path matrix.
+     * Unlike {@link #calculateDilation(double[][], int, int)} this method does not run Floyd-Warshall again,
+     * so all pairs of one orientation can share a single shortest path computation.
+     * @param adjacencyMatrix An n×n matrix which for every pair of vertexes i,j holds
+     * the distance between them if there is a directed edge i->j and 0 otherwise.
+     * @param distanceMatrix the all-to-all shortest path matrix of the same graph
+     * (see {@link FloydWarshallAlgorithm#floydWarshall(double[][])}).
+     * @param i The index of the first point.
+     * @param j The index of the second point.
+     * @return the ratio of the length of the shortest closed walk through i,j to the perimeter of
+     * the smallest triangle through i,j.
+     */
+    public static double calculateDilation(double[][] adjacencyMatrix, double[][] distanceMatrix, int i, int j)
+    {
+        if(i==j) return INF;
+
+        else {
+            //calculate closed walk i->j->i
+            double walk = distanceMatrix[i][j] + distanceMatrix[j][i];
+            double triangle = calculateTriangle(adjacencyMatrix, i,j);
+            return walk/triangle;
+        }
+    }
+
     /**
      * Calculates the closed walk between two points in the distance matrix.
      * A closed walk is the sum of the distance from point i to point j and the distance from j to i.
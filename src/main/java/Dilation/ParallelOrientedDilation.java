@@ -0,0 +1,179 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+import Points.Point;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class evaluates the oriented dilation of a single big orientation on several cores.
+ * The rows of the shortest path matrix are computed with one Dijkstra per source, the sources are distributed
+ * over a ForkJoinPool. Afterwards the max dilation is reduced in parallel over the rows.
+ * Every row and every max is computed exactly like in the sequential mode, so both modes return the same value.
+ */
+public class ParallelOrientedDilation {
+
+    //number of sources or rows handled by one task without splitting it further
+    final static int SEQUENTIAL_THRESHOLD = 8;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an evaluator which runs on the common ForkJoinPool.
+     */
+    public ParallelOrientedDilation() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an evaluator which runs on the given pool.
+     * @param pool the pool executing the tasks, e.g. new ForkJoinPool(threads).
+     */
+    public ParallelOrientedDilation(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Calculates the maximum dilation in the entire graph in parallel.
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     * @param orientation the packed orientation of a complete graph on this point set
+     * @return The maximum dilation value in the graph.
+     */
+    public double calculateOrientedDilation(List<Point> points, BitOrientation orientation) {
+        return calculateOrientedDilation(new PointSetGeometry(points),orientation);
+    }
+
+    /**
+     * Calculates the maximum dilation in the entire graph in parallel.
+     * @param geometry the distances and triangles of the point set.
+     * @param orientation the packed orientation of a complete graph on this point set
+     * @return The maximum dilation value in the graph.
+     */
+    public double calculateOrientedDilation(PointSetGeometry geometry, BitOrientation orientation) {
+        return calculate(geometry,orientation,pool);
+    }
+
+    /**
+     * Calculates the maximum dilation in the entire graph with the same algorithm on the current thread.
+     * @param geometry the distances and triangles of the point set.
+     * @param orientation the packed orientation of a complete graph on this point set
+     * @return The maximum dilation value in the graph.
+     */
+    public static double calculateSequential(PointSetGeometry geometry, BitOrientation orientation) {
+        return calculate(geometry,orientation,null);
+    }
+
+    /**
+     * Computes all rows of the shortest path matrix and reduces the max dilation, on the pool or sequentially if pool is null.
+     */
+    private static double calculate(PointSetGeometry geometry, BitOrientation orientation, ForkJoinPool pool) {
+        int numberOfPoints = geometry.getNumberOfPoints();
+        if(orientation.getNumberOfPoints() != numberOfPoints) {
+            throw new IllegalArgumentException("Orientation doesn't match point set: "+orientation);
+        }
+
+        double[] adjacencyMatrix = new double[numberOfPoints*numberOfPoints];
+        AdjacencyMatrix.fillDistanceMatrix(geometry,orientation,adjacencyMatrix);
+        double[][] distanceMatrix = new double[numberOfPoints][];
+
+        //the sequential mode runs the same tasks without splitting them
+        int threshold = pool == null ? numberOfPoints : SEQUENTIAL_THRESHOLD;
+
+        ShortestPaths shortestPaths = new ShortestPaths(adjacencyMatrix,numberOfPoints,distanceMatrix,0,numberOfPoints,threshold);
+        MaxDilation maxDilation = new MaxDilation(distanceMatrix,geometry.getTriangles(),0,numberOfPoints,threshold);
+
+        if(pool == null) {
+            shortestPaths.compute();
+            return maxDilation.compute();
+        }
+
+        pool.invoke(shortestPaths);
+        return pool.invoke(maxDilation);
+    }
+
+    /**
+     * Runs Dijkstra for the sources in [start,end).
+     */
+    private static class ShortestPaths extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] adjacencyMatrix;
+        private final int numberOfPoints;
+        private final double[][] distanceMatrix;
+        private final int start;
+        private final int end;
+        private final int threshold;
+
+        ShortestPaths(double[] adjacencyMatrix, int numberOfPoints, double[][] distanceMatrix, int start, int end,
+                      int threshold) {
+            this.adjacencyMatrix = adjacencyMatrix;
+            this.numberOfPoints = numberOfPoints;
+            this.distanceMatrix = distanceMatrix;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if(end-start > threshold) {
+                int middle = (start+end)>>>1;
+                invokeAll(new ShortestPaths(adjacencyMatrix,numberOfPoints,distanceMatrix,start,middle,threshold),
+                        new ShortestPaths(adjacencyMatrix,numberOfPoints,distanceMatrix,middle,end,threshold));
+                return;
+            }
+
+            boolean[] visited = new boolean[numberOfPoints];
+            for(int source=start;source<end;source++) {
+                double[] distances = new double[numberOfPoints];
+                DijkstraAlgorithm.dijkstra(adjacencyMatrix,numberOfPoints,source,distances,visited);
+                distanceMatrix[source] = distances;
+            }
+        }
+    }
+
+    /**
+     * Reduces the max dilation of the pairs (i,j) with i in [start,end) and j>i.
+     */
+    private static class MaxDilation extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[][] distanceMatrix;
+        private final double[][] triangles;
+        private final int start;
+        private final int end;
+        private final int threshold;
+
+        MaxDilation(double[][] distanceMatrix, double[][] triangles, int start, int end, int threshold) {
+            this.distanceMatrix = distanceMatrix;
+            this.triangles = triangles;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Double compute() {
+            if(end-start > threshold) {
+                int middle = (start+end)>>>1;
+                MaxDilation left = new MaxDilation(distanceMatrix,triangles,start,middle,threshold);
+                MaxDilation right = new MaxDilation(distanceMatrix,triangles,middle,end,threshold);
+                left.fork();
+                double rightMax = right.compute();
+                return Math.max(left.join(),rightMax);
+            }
+
+            double maxDilation = 0;
+            for(int i=start;i<end;i++) {
+                for(int j=i+1;j<distanceMatrix.length;j++) {
+                    double walk = distanceMatrix[i][j] + distanceMatrix[j][i];
+                    maxDilation = Math.max(maxDilation,walk/triangles[i][j]);
+                }
+            }
+            return maxDilation;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package Dilation;
+
+import Points.Point;
+
+import java.util.List;
+
+/**
+ * This class holds everything about a point set that does not depend on the orientation:
+ * the Euclidean distances between all points and the perimeters of the smallest triangles through
+ * every two points. Both are computed once and can be shared by all evaluators and solvers of the point set.
+ * The arrays returned by the getters must not be changed.
+ */
+public class PointSetGeometry {
+    final static int INF = 99999;
+
+    private final List<Point> points;
+
+    private final int numberOfPoints;
+
+    //array that holds all Euclidean distances
+    private final double[][] distances;
+
+    //array that holds perimeters of smallest triangle between every two points
+    private final double[][] triangles;
+
+    /**
+     * Computes the distances and the smallest triangles of a point set.
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     */
+    public PointSetGeometry(List<Point> points) {
+        if(points.size()<3) {
+            throw new IllegalArgumentException("Number of points should be at least 3.");
+        }
+
+        this.points = points;
+        numberOfPoints = points.size();
+
+        distances = new double[numberOfPoints][numberOfPoints];
+        triangles = new double[numberOfPoints][numberOfPoints];
+
+        for(int i=0;i<numberOfPoints;i++) {
+            distances[i][i]=0;
+
+            for (int j=i+1;j<numberOfPoints;j++) {
+                double distance = points.get(i).calculateDistance(points.get(j));
+                distances[i][j]=distance;
+                distances[j][i]= distance;
+            }
+        }
+
+        for(int i=0;i<numberOfPoints;i++) {
+            triangles[i][i]=INF;
+
+            for (int j=i+1;j<numberOfPoints;j++) {
+                double triangle = calculateTriangle(distances,i,j);
+                triangles[i][j]=triangle;
+                triangles[j][i]= triangle;
+            }
+        }
+    }
+
+    /**
+     * Calculates the perimeter of the smallest triangle through points i,j.
+     * @param distances the Euclidean distances between all points.
+     * @param i The index of the first point.
+     * @param j The index of the second point.
+     * @return The perimeter of the smallest triangle through points i,j.
+     */
+    public static double calculateTriangle(double[][] distances, int i, int j) {
+        if(i==j) return INF;
+
+        //get the length of the side i-j
+        double ijEdge = distances[i][j];
+
+        double minDistance=INF;
+
+        //loop through all points
+        for(int k=0;k<distances.length;k++) {
+
+            if(k!=i && k!=j) {
+                //determine length of sides j-k and k-i
+                double distance = distances[i][k] + distances[j][k];
+                //save the smallest sum of lengths
+                minDistance = Math.min(minDistance,distance);
+            }
+        }
+        //calculate the smallest perimeter as length(i,j) + minimal sum of (i,k) and (j,k)
+        return ijEdge + minDistance;
+    }
+
+    public List<Point> getPoints() {
+        return points;
+    }
+
+    public int getNumberOfPoints() {
+        return numberOfPoints;
+    }
+
+    /**
+     * @return the Euclidean distances between all points.
+     */
+    public double[][] getDistances() {
+        return distances;
+    }
+
+    /**
+     * @return the perimeters of the smallest triangles through every two points (INF on the diagonal).
+     */
+    public double[][] getTriangles() {
+        return triangles;
+    }
+
+    public double getDistance(int i, int j) {
+        return distances[i][j];
+    }
+
+    public double getTriangle(int i, int j) {
+        return triangles[i][j];
+    }
+}
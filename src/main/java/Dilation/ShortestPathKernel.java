@@ -0,0 +1,83 @@
+package Dilation;
+
+/**
+ * This interface describes an implementation of the Floyd-Warshall algorithm on a flat row-major matrix
+ * (see {@link FloydWarshallAlgorithm#floydWarshall(double[], int)}). The static methods return the available kernels.
+ */
+@FunctionalInterface
+public interface ShortestPathKernel {
+
+    /**
+     * Smallest number of points for which the vectorized kernel is selected automatically.
+     */
+    int VECTOR_THRESHOLD = 16;
+
+    /**
+     * Calculates the shortest paths between all pairs of vertices in place.
+     * @param distanceMatrix the distance matrix of the graph, D[i][j] is stored at i*n+j.
+     * @param n the number of vertices.
+     */
+    void floydWarshall(double[] distanceMatrix, int n);
+
+    /**
+     * @return the scalar Floyd-Warshall kernel.
+     */
+    static ShortestPathKernel scalar() {
+        return FloydWarshallAlgorithm::floydWarshall;
+    }
+
+    /**
+     * @return the Floyd-Warshall kernel using the JDK Vector API.
+     * @throws IllegalStateException if the module jdk.incubator.vector is not available.
+     */
+    static ShortestPathKernel vector() {
+        if(!isVectorAvailable()) {
+            throw new IllegalStateException("Module jdk.incubator.vector is not available, "
+                    + "start the JVM with --add-modules jdk.incubator.vector.");
+        }
+        return VectorFloydWarshall::floydWarshall;
+    }
+
+    /**
+     * @return the cache-blocked Floyd-Warshall kernel with tiles of the default size.
+     */
+    static ShortestPathKernel blocked() {
+        return blocked(BlockedFloydWarshall.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param blockSize the side length of a tile.
+     * @return the cache-blocked Floyd-Warshall kernel for large graphs.
+     */
+    static ShortestPathKernel blocked(int blockSize) {
+        if(blockSize<1) {
+            throw new IllegalArgumentException("Block size should be at least 1.");
+        }
+        return (distanceMatrix, n) -> BlockedFloydWarshall.floydWarshall(distanceMatrix,n,blockSize);
+    }
+
+    /**
+     * Selects the kernel at runtime: the vectorized kernel is used for graphs with at least
+     * VECTOR_THRESHOLD vertices if the Vector API is available, otherwise the scalar kernel.
+     * @return the automatically selected kernel.
+     */
+    static ShortestPathKernel automatic() {
+        if(!isVectorAvailable()) {
+            return scalar();
+        }
+
+        ShortestPathKernel vector = vector();
+        return (distanceMatrix, n) -> {
+            if(n >= VECTOR_THRESHOLD) vector.floydWarshall(distanceMatrix,n);
+            else FloydWarshallAlgorithm.floydWarshall(distanceMatrix,n);
+        };
+    }
+
+    /**
+     * Checks if the JVM was started with the Vector API. The vectorized classes must not be loaded otherwise.
+     * @return true if the module jdk.incubator.vector is available.
+     */
+    static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
@@ -0,0 +1,211 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+import Points.Point;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class evaluates the oriented dilation of very big point sets without any n×n matrix.
+ * For every source i it runs Dijkstra on the graph and on the reversed graph, which gives d(i,j) and d(j,i)
+ * for all j, and combines them with the smallest triangles through i and j on the fly.
+ * The Euclidean distances are computed from the coordinates when they are needed, so every worker thread only
+ * needs a few arrays of size n. Besides the orientation itself the memory stays O(n) per worker.
+ * The sources are distributed over a ForkJoinPool.
+ */
+public class StreamingOrientedDilation {
+    final static int INF = 99999;
+
+    //number of sources handled by one task without splitting it further
+    final static int SEQUENTIAL_THRESHOLD = 4;
+
+    private final int numberOfPoints;
+
+    //coordinates of the points
+    private final double[] xs;
+    private final double[] ys;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an evaluator for a point set which runs on the common ForkJoinPool.
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     */
+    public StreamingOrientedDilation(List<Point> points) {
+        this(points,ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an evaluator for a point set which runs on the given pool.
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     * @param pool the pool executing the tasks, e.g. new ForkJoinPool(threads).
+     */
+    public StreamingOrientedDilation(List<Point> points, ForkJoinPool pool) {
+        if(points.size()<3) {
+            throw new IllegalArgumentException("Number of points should be at least 3.");
+        }
+
+        this.numberOfPoints = points.size();
+        this.pool = pool;
+        xs = new double[numberOfPoints];
+        ys = new double[numberOfPoints];
+
+        for(int i=0;i<numberOfPoints;i++) {
+            xs[i] = points.get(i).x();
+            ys[i] = points.get(i).y();
+        }
+    }
+
+    /**
+     * Calculates the maximum dilation in the entire graph in parallel.
+     * @param orientation the packed orientation of a complete graph on this point set
+     * @return The maximum dilation value in the graph.
+     */
+    public double calculateOrientedDilation(BitOrientation orientation) {
+        checkOrientation(orientation);
+        return pool.invoke(new Sources(orientation,0,numberOfPoints,SEQUENTIAL_THRESHOLD));
+    }
+
+    /**
+     * Calculates the maximum dilation in the entire graph on the current thread.
+     * @param orientation the packed orientation of a complete graph on this point set
+     * @return The maximum dilation value in the graph.
+     */
+    public double calculateSequential(BitOrientation orientation) {
+        checkOrientation(orientation);
+        return new Sources(orientation,0,numberOfPoints,numberOfPoints).compute();
+    }
+
+    private void checkOrientation(BitOrientation orientation) {
+        if(orientation.getNumberOfPoints() != numberOfPoints) {
+            throw new IllegalArgumentException("Orientation doesn't match point set: "+orientation.getNumberOfPoints()
+                    +" points instead of "+numberOfPoints);
+        }
+    }
+
+    /**
+     * Calculates the Euclidean distance between the points i and j like Point.calculateDistance.
+     */
+    private double distance(int i, int j) {
+        double dx = xs[j] - xs[i];
+        double dy = ys[j] - ys[i];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Calculates the max dilation of the pairs (i,j) with j>i for one source i.
+     * @param fromSource scratch array for d(i,·)
+     * @param toSource scratch array for d(·,i)
+     * @param sourceDistances scratch array for the Euclidean distances from i
+     * @param visited scratch array for Dijkstra
+     */
+    private double calculateSource(BitOrientation orientation, int source, double[] fromSource, double[] toSource,
+                                   double[] sourceDistances, boolean[] visited) {
+        for(int k=0;k<numberOfPoints;k++) {
+            sourceDistances[k] = distance(source,k);
+        }
+
+        dijkstra(orientation,source,fromSource,visited,false);
+        dijkstra(orientation,source,toSource,visited,true);
+
+        double maxDilation = 0;
+
+        for(int j=source+1;j<numberOfPoints;j++) {
+            double walk = fromSource[j] + toSource[j];
+
+            //perimeter of the smallest triangle through source and j
+            double minDistance = INF;
+            for(int k=0;k<numberOfPoints;k++) {
+                if(k!=source && k!=j) {
+                    minDistance = Math.min(minDistance,sourceDistances[k] + distance(j,k));
+                }
+            }
+            double triangle = sourceDistances[j] + minDistance;
+
+            maxDilation = Math.max(maxDilation,walk/triangle);
+        }
+        return maxDilation;
+    }
+
+    /**
+     * Dense O(n^2) Dijkstra which computes the edge weights from the coordinates.
+     * @param reversed if true the edges are followed backwards, i.e. distances[k] = d(k,source).
+     */
+    private void dijkstra(BitOrientation orientation, int source, double[] distances, boolean[] visited,
+                          boolean reversed) {
+        Arrays.fill(distances,INF);
+        Arrays.fill(visited,false);
+        distances[source] = 0;
+
+        for(int step=0;step<numberOfPoints;step++) {
+            //pick the closest vertex which is not visited yet
+            int current = -1;
+            for(int k=0;k<numberOfPoints;k++) {
+                if(!visited[k] && (current==-1 || distances[k]<distances[current])) {
+                    current = k;
+                }
+            }
+
+            //all remaining vertices are unreachable
+            if(distances[current]>=INF) break;
+            visited[current] = true;
+
+            for(int k=0;k<numberOfPoints;k++) {
+                if(visited[k]) continue;
+                boolean edge = reversed ? orientation.hasEdge(k,current) : orientation.hasEdge(current,k);
+                if(!edge) continue;
+
+                double distance = distances[current] + distance(current,k);
+                if(distance < distances[k]) {
+                    distances[k] = distance;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reduces the max dilation over the sources in [start,end), every leaf task allocates its own O(n) arrays.
+     */
+    private class Sources extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final BitOrientation orientation;
+        private final int start;
+        private final int end;
+        private final int threshold;
+
+        Sources(BitOrientation orientation, int start, int end, int threshold) {
+            this.orientation = orientation;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Double compute() {
+            if(end-start > threshold) {
+                int middle = (start+end)>>>1;
+                Sources left = new Sources(orientation,start,middle,threshold);
+                Sources right = new Sources(orientation,middle,end,threshold);
+                left.fork();
+                double rightMax = right.compute();
+                return Math.max(left.join(),rightMax);
+            }
+
+            double[] fromSource = new double[numberOfPoints];
+            double[] toSource = new double[numberOfPoints];
+            double[] sourceDistances = new double[numberOfPoints];
+            boolean[] visited = new boolean[numberOfPoints];
+
+            double maxDilation = 0;
+            for(int source=start;source<end;source++) {
+                maxDilation = Math.max(maxDilation,
+                        calculateSource(orientation,source,fromSource,toSource,sourceDistances,visited));
+            }
+            return maxDilation;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+import Points.Point;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class checks orientations of one point set against an upper bound for the oriented dilation.
+ * The pairs of points are checked in the order "likely worst first" and the calculation stops as soon as
+ * one pair reaches the bound. The shortest paths are computed lazily with Dijkstra, only for the sources
+ * that are needed by the checked pairs.
+ * The order puts the pair that reached the bound last time first, followed by all pairs sorted by the lower bound
+ * 2*|ij| / triangle(i,j) of their dilation in descending order.
+ * One instance should be reused for all orientations of the point set, it is not thread safe.
+ */
+public class ThresholdDilation {
+    final static int INF = 99999;
+
+    private final int numberOfPoints;
+
+    //Euclidean distances between all points
+    private final double[][] euclideanDistances;
+
+    //perimeters of the smallest triangle through every two points
+    private final double[][] triangles;
+
+    //pairs i<j encoded as i*numberOfPoints+j in the order they are checked
+    private final int[] pairOrder;
+
+    //lazily computed rows of the shortest path matrix
+    private final double[][] distanceRows;
+    private final boolean[] rowComputed;
+    private final boolean[] visited;
+
+    //the pair that reached the bound in the last calculation or -1
+    private int lastExceededPair = -1;
+
+    /**
+     * Creates the evaluator and precomputes the distances, triangles and the order of the pairs.
+     * @param points A list of Points.Point objects representing the vertices of the graph.
+     */
+    public ThresholdDilation(List<Point> points) {
+        this(new PointSetGeometry(points));
+    }
+
+    /**
+     * Creates the evaluator for a point set with precomputed geometry.
+     * @param geometry the distances and triangles of the point set.
+     */
+    public ThresholdDilation(PointSetGeometry geometry) {
+        numberOfPoints = geometry.getNumberOfPoints();
+
+        euclideanDistances = geometry.getDistances();
+        triangles = geometry.getTriangles();
+
+        //sort the pairs by the lower bound of their dilation, the biggest first
+        Integer[] pairs = new Integer[numberOfPoints*(numberOfPoints-1)/2];
+        int index = 0;
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=i+1;j<numberOfPoints;j++) {
+                pairs[index++] = i*numberOfPoints+j;
+            }
+        }
+        Arrays.sort(pairs, Comparator.comparingDouble((Integer pair) -> -lowerBound(pair)));
+
+        pairOrder = new int[pairs.length];
+        for(int k=0;k<pairs.length;k++) {
+            pairOrder[k] = pairs[k];
+        }
+
+        distanceRows = new double[numberOfPoints][numberOfPoints];
+        rowComputed = new boolean[numberOfPoints];
+        visited = new boolean[numberOfPoints];
+    }
+
+    /**
+     * Every closed walk through i and j is at least 2*|ij| long.
+     */
+    private double lowerBound(int pair) {
+        int i = pair/numberOfPoints;
+        int j = pair%numberOfPoints;
+        return 2*euclideanDistances[i][j]/triangles[i][j];
+    }
+
+    /**
+     * Calculates the oriented dilation of an orientation, but stops as soon as the dilation of one pair
+     * reaches the upper bound.
+     * @param orientation the packed orientation of a complete graph on the point set.
+     * @param upperBound the bound, e.g. the smallest dilation found so far.
+     * @return the max dilation if it is smaller than the bound,
+     * otherwise the dilation of the pair that reached the bound with exceeded = true.
+     */
+    public BoundedDilation calculate(BitOrientation orientation, double upperBound) {
+        if(orientation.getNumberOfPoints() != numberOfPoints) {
+            throw new IllegalArgumentException("Orientation doesn't match point set: "+orientation);
+        }
+
+        Arrays.fill(rowComputed,false);
+        double maxDilation = 0;
+        int checkedPairs = 0;
+
+        //check the pair which was the worst one last time first
+        if(lastExceededPair >= 0) {
+            double dilation = calculateDilation(orientation,lastExceededPair);
+            checkedPairs++;
+
+            if(dilation >= upperBound) {
+                return new BoundedDilation(dilation,true,checkedPairs);
+            }
+            maxDilation = dilation;
+        }
+
+        for(int pair : pairOrder) {
+            if(pair == lastExceededPair) continue;
+
+            double dilation = calculateDilation(orientation,pair);
+            checkedPairs++;
+
+            if(dilation >= upperBound) {
+                lastExceededPair = pair;
+                return new BoundedDilation(dilation,true,checkedPairs);
+            }
+            maxDilation = Math.max(maxDilation,dilation);
+        }
+
+        return new BoundedDilation(maxDilation,false,checkedPairs);
+    }
+
+    /**
+     * Calculates the dilation of one pair and computes the needed rows of the shortest path matrix.
+     */
+    private double calculateDilation(BitOrientation orientation, int pair) {
+        int i = pair/numberOfPoints;
+        int j = pair%numberOfPoints;
+
+        if(!rowComputed[i]) {
+            DijkstraAlgorithm.dijkstra(orientation,euclideanDistances,i,distanceRows[i],visited);
+            rowComputed[i] = true;
+        }
+        if(!rowComputed[j]) {
+            DijkstraAlgorithm.dijkstra(orientation,euclideanDistances,j,distanceRows[j],visited);
+            rowComputed[j] = true;
+        }
+
+        double walk = distanceRows[i][j] + distanceRows[j][i];
+        return walk/triangles[i][j];
+    }
+}
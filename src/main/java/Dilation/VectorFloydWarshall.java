@@ -0,0 +1,55 @@
+package Dilation;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class implements the Floyd-Warshall algorithm with the JDK Vector API.
+ * The update of row i for a fixed k, D[i][j] = min(D[i][j], D[i][k] + D[k][j]), is done for several j at once.
+ * The results are the same as the ones of the scalar version.
+ * This class needs the module jdk.incubator.vector, use {@link ShortestPathKernel#vector()} to access it.
+ */
+public class VectorFloydWarshall {
+    final static int INF = 99999;
+
+    //the widest vector shape of the CPU, e.g. 4 doubles with AVX2 and 8 with AVX-512
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Calculates the shortest paths between all pairs of vertices in place.
+     * @param distanceMatrix the distance matrix of the graph, D[i][j] is stored at i*n+j.
+     * @param n the number of vertices.
+     */
+    public static void floydWarshall(double[] distanceMatrix, int n) {
+        //the last entries of a row which don't fill a whole vector
+        int upperBound = SPECIES.loopBound(n);
+
+        for (int k = 0; k < n; k++) {
+            int kRow = k*n;
+
+            for (int i = 0; i < n; i++) {
+                int iRow = i*n;
+                double ik = distanceMatrix[iRow + k];
+
+                //no path from i over k
+                if (ik >= INF) continue;
+
+                DoubleVector ikVector = DoubleVector.broadcast(SPECIES, ik);
+                int j = 0;
+
+                for (; j < upperBound; j += SPECIES.length()) {
+                    DoubleVector kj = DoubleVector.fromArray(SPECIES, distanceMatrix, kRow + j);
+                    DoubleVector ij = DoubleVector.fromArray(SPECIES, distanceMatrix, iRow + j);
+                    ij.min(ikVector.add(kj)).intoArray(distanceMatrix, iRow + j);
+                }
+
+                for (; j < n; j++) {
+                    double distance = ik + distanceMatrix[kRow + j];
+
+                    if (distance < distanceMatrix[iRow + j])
+                        distanceMatrix[iRow + j] = distance;
+                }
+            }
+        }
+    }
+}
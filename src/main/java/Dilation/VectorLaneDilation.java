@@ -0,0 +1,130 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class evaluates several orientations of the same point set at once with the JDK Vector API.
+ * Small graphs don't fill the vectors inside one Floyd-Warshall, so instead every vector lane holds the
+ * matrix of another orientation: entry D[i][j] of lane l is stored at (i*n+j)*lanes+l.
+ * Every lane does exactly the same operations as the scalar Floyd-Warshall, so the dilations are the same.
+ * This class needs the module jdk.incubator.vector,
+ * use {@link OrientedDilation#calculateOrientedDilation(PointSetGeometry, BitOrientation[], double[])} to access it.
+ */
+public class VectorLaneDilation {
+    final static int INF = 99999;
+
+    //the widest vector shape of the CPU, e.g. 4 doubles with AVX2 and 8 with AVX-512
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    //interleaved matrices of every thread, they are reused for all calls
+    private static final ThreadLocal<double[]> MATRICES = ThreadLocal.withInitial(() -> new double[0]);
+
+    /**
+     * @return the number of orientations evaluated together.
+     */
+    public static int lanes() {
+        return SPECIES.length();
+    }
+
+    /**
+     * Calculates the maximum dilation of every orientation, lanes() orientations at a time.
+     * @param geometry the distances and triangles of the point set.
+     * @param orientations the packed orientations of a complete graph on this point set
+     * @param dilations the array which is filled with the maximum dilation of every orientation.
+     */
+    public static void calculateOrientedDilation(PointSetGeometry geometry, BitOrientation[] orientations,
+                                                 double[] dilations) {
+        int numberOfPoints = geometry.getNumberOfPoints();
+        int lanes = SPECIES.length();
+
+        double[] matrix = MATRICES.get();
+        if(matrix.length < numberOfPoints*numberOfPoints*lanes) {
+            matrix = new double[numberOfPoints*numberOfPoints*lanes];
+            MATRICES.set(matrix);
+        }
+
+        double[] laneDilations = new double[lanes];
+
+        for(int start=0;start<orientations.length;start+=lanes) {
+            //a group at the end which is not full repeats its last orientation
+            for(int l=0;l<lanes;l++) {
+                BitOrientation orientation = orientations[Math.min(start+l,orientations.length-1)];
+                fillLane(geometry,orientation,matrix,l,lanes);
+            }
+
+            floydWarshall(matrix,numberOfPoints);
+            maxDilation(geometry,matrix,laneDilations);
+
+            int count = Math.min(lanes,orientations.length-start);
+            System.arraycopy(laneDilations,0,dilations,start,count);
+        }
+    }
+
+    /**
+     * Writes the distance matrix of an orientation into one lane (see {@link AdjacencyMatrix#fillDistanceMatrix}).
+     */
+    private static void fillLane(PointSetGeometry geometry, BitOrientation orientation, double[] matrix,
+                                 int lane, int lanes) {
+        int numberOfPoints = geometry.getNumberOfPoints();
+        if(orientation.getNumberOfPoints() != numberOfPoints) {
+            throw new IllegalArgumentException("Orientation doesn't match point set: "+orientation);
+        }
+
+        double[][] distances = geometry.getDistances();
+        int index=0;
+
+        for(int i=0;i<numberOfPoints;i++) {
+            matrix[(i*numberOfPoints+i)*lanes+lane] = 0;
+
+            for(int j=i+1;j<numberOfPoints;j++) {
+                //i->j if the bit is 1, otherwise j->i
+                boolean forward = orientation.get(index);
+                matrix[(i*numberOfPoints+j)*lanes+lane] = forward ? distances[i][j] : INF;
+                matrix[(j*numberOfPoints+i)*lanes+lane] = forward ? INF : distances[i][j];
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Floyd-Warshall on all lanes at once. Unlike the scalar version it can't skip i if D[i][k] is INF,
+     * since the other lanes may have a path, but adding INF never changes a minimum.
+     */
+    private static void floydWarshall(double[] matrix, int n) {
+        int lanes = SPECIES.length();
+
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                DoubleVector ik = DoubleVector.fromArray(SPECIES, matrix, (i*n + k)*lanes);
+
+                for (int j = 0; j < n; j++) {
+                    int ij = (i*n + j)*lanes;
+                    DoubleVector kj = DoubleVector.fromArray(SPECIES, matrix, (k*n + j)*lanes);
+                    DoubleVector.fromArray(SPECIES, matrix, ij).min(ik.add(kj)).intoArray(matrix, ij);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculates max over all pairs of (D[i][j]+D[j][i]) / triangle(i,j) for every lane.
+     */
+    private static void maxDilation(PointSetGeometry geometry, double[] matrix, double[] laneDilations) {
+        int numberOfPoints = geometry.getNumberOfPoints();
+        int lanes = SPECIES.length();
+        double[][] triangles = geometry.getTriangles();
+
+        DoubleVector maxDilation = DoubleVector.zero(SPECIES);
+
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=i+1;j<numberOfPoints;j++) {
+                DoubleVector ij = DoubleVector.fromArray(SPECIES, matrix, (i*numberOfPoints + j)*lanes);
+                DoubleVector ji = DoubleVector.fromArray(SPECIES, matrix, (j*numberOfPoints + i)*lanes);
+                maxDilation = maxDilation.max(ij.add(ji).div(triangles[i][j]));
+            }
+        }
+        maxDilation.intoArray(laneDilations, 0);
+    }
+}
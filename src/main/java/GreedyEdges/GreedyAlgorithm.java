@@ -2,6 +2,7 @@ package GreedyEdges;
 import Dilation.OrientedDilation;
 import InputOutputHandler.Writer;
 import Points.Point;
+import Orientation.BitOrientation;
 import Orientation.OrientationMatrix;
 import Points.PointGenerator;
 
@@ -24,10 +25,22 @@ public class GreedyAlgorithm {
      * The final graph orientation is then determined and returned.
      *
      * @param points A list of points representing the vertices of the graph.
-     * @return A string representing the orientation of the graph.
+     * @return The oriented dilation of the greedy orientation.
      */
 
     public static double orient(List<Point> points) {
+        BitOrientation orientation = createOrientation(points);
+        return OrientedDilation.calculateOrientedDilation(points,orientation);
+    }
+
+    /**
+     * Creates the greedy orientation without evaluating it, e.g. to evaluate it with
+     * {@link Dilation.ParallelOrientedDilation} for big point sets.
+     *
+     * @param points A list of points representing the vertices of the graph.
+     * @return the packed orientation of the graph.
+     */
+    public static BitOrientation createOrientation(List<Point> points) {
         //create sorted list of all edges
         List <Edge> edges = buildEdgesList(points);
 
@@ -38,8 +51,9 @@ public class GreedyAlgorithm {
         orientTriangles(edges,orientationMatrix);
 
         //decrypt the final orientation
-        String orientation = OrientationMatrix.orientGraph(orientationMatrix);
-        return OrientedDilation.calculateOrientedDilation(points,orientation);
+        BitOrientation orientation = new BitOrientation(points.size());
+        OrientationMatrix.orientGraph(orientationMatrix,orientation);
+        return orientation;
     }
 
     /**
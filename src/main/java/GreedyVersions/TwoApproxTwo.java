@@ -1,6 +1,7 @@
 package GreedyVersions;
 
-import Dilation.OrientedDilation;
+import Dilation.BatchDilation;
+import Orientation.BitOrientation;
 import Orientation.OrientationMatrix;
 import Points.Point;
 import TwoApproximation.Triangle;
@@ -39,14 +40,10 @@ public class TwoApproxTwo {
         //bruteforce through remaining edges
         List<String> allOrientations = generateAllAdjacencyMatrixStrings(orientationMatrix);
 
-        double minDilation = INF;
-
-        for(String orientation : allOrientations) {
-            double dilation = OrientedDilation.calculateOrientedDilation(points,orientation);
-            minDilation = Math.min(minDilation,dilation);
-        }
-
-        return minDilation;
+        //calculate dilation of every orientation over the shared geometry of the point set
+        BatchDilation batch = new BatchDilation(points);
+        return batch.findBest(allOrientations.stream()
+                .map(orientation -> BitOrientation.fromString(orientation,points.size()))).dilation();
     }
 
     /**
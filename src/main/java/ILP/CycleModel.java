@@ -0,0 +1,490 @@
+package ILP;
+import Dilation.BestOrientation;
+import Dilation.OrientedDilation;
+import Dilation.PointSetGeometry;
+import Orientation.BitOrientation;
+import com.google.ortools.Loader;
+import com.google.ortools.sat.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class holds the SAT model of {@link SAT34} and {@link SAT} for all values of t at once.
+ * The model is built once per point set and cycle length, a new t only fixes one threshold literal.
+ * The cycles are enumerated depth first and cut as soon as they can't reach a ratio up to maxRatio.
+ * <p>
+ * Every cycle through two points i,j has the ratio length/perimeter of the smallest triangle through i,j.
+ * The distinct ratios of all cycles are sorted and get order encoded threshold literals:
+ * T_k is true if t >= ratios[k], and T_k+1 implies T_k. A closed cycle may only cover i,j
+ * if the threshold literal of its ratio is true. To solve the model for t the literal of the smallest ratio
+ * above t is fixed to false, which forbids all cycles with a ratio above t.
+ */
+public class CycleModel {
+    final static int INF = 99999;
+
+    //tolerance for cycles whose ratio is 1, i.e. smallest triangles
+    final static double EPSILON = 1e-9;
+
+    private final int numberOfPoints;
+
+    private final PointSetGeometry geometry;
+
+    //cycles with a ratio above this value are not part of the model
+    private final double maxRatio;
+
+    private final CpModel model;
+
+    //x[i][j] is true if the edge between i and j is oriented i->j, x[j][i] is its negation
+    private final Literal[][] x;
+
+    //sorted distinct ratios of all cycles of the model and their threshold literals
+    private final double[] ratios;
+    private final BoolVar[] thresholds;
+
+    //the model can't be solved for any t below this value
+    private final double lowerBound;
+
+    private int numberOfCycles;
+
+    //index of the threshold literal which is fixed to false, -1 if none
+    private int fixedThreshold = -1;
+
+    /**
+     * Builds the model with all cycles of length 3 up to length through every two points.
+     * @param geometry the distances and triangles of the point set.
+     * @param length the max. number of edges of a cycle.
+     * @param maxRatio cycles with a larger ratio are left out, the model can only be solved for t up to maxRatio.
+     */
+    public CycleModel(PointSetGeometry geometry, int length, double maxRatio) {
+        Loader.loadNativeLibraries();
+
+        numberOfPoints = geometry.getNumberOfPoints();
+        this.geometry = geometry;
+        this.maxRatio = maxRatio;
+
+        double[][] distances = geometry.getDistances();
+        double[][] triangles = geometry.getTriangles();
+
+        model = new CpModel();
+        int n = numberOfPoints;
+
+        //one variable for every edge, the opposite direction is its negation
+        x = new Literal[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i+1; j < n; j++) {
+                BoolVar edge = model.newBoolVar("X_"+i+"_"+j);
+                x[i][j] = edge;
+                x[j][i] = edge.not();
+            }
+        }
+
+        //every node has at least one outgoing and one ingoing edge
+        for (int i = 0; i < n; i++) {
+            List<Literal> outgoing = new ArrayList<>();
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    outgoing.add(x[i][j]);
+                }
+            }
+            model.addLinearConstraint(LinearExpr.sum(outgoing.toArray(new Literal[0])), 1, n - 2);
+        }
+
+        //collect the cycles through every two points i<j which can be short enough
+        List<List<int[]>> cycles = new ArrayList<>();
+        List<double[]> cycleRatios = new ArrayList<>();
+        List<Double> allRatios = new ArrayList<>();
+
+        int[] path = new int[Math.max(length, 2)];
+        boolean[] visited = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                List<int[]> pairCycles = new ArrayList<>();
+                List<Double> lengths = new ArrayList<>();
+
+                //the tolerance keeps cycles whose ratio is rounded to maxRatio, they are checked exactly below
+                double maxLength = maxRatio * triangles[i][j] * (1 + EPSILON);
+                path[0] = i;
+                path[1] = j;
+                visited[i] = true;
+                visited[j] = true;
+                generateCycles(distances, path, 2, distances[i][j], visited, length, maxLength, pairCycles, lengths);
+                visited[i] = false;
+                visited[j] = false;
+
+                List<int[]> shortCycles = new ArrayList<>();
+                List<Double> pairRatios = new ArrayList<>();
+                for (int c = 0; c < pairCycles.size(); c++) {
+                    double ratio = lengths.get(c) / triangles[i][j];
+
+                    if (ratio <= maxRatio) {
+                        shortCycles.add(pairCycles.get(c));
+                        pairRatios.add(ratio);
+                        allRatios.add(ratio);
+                    }
+                }
+                cycles.add(shortCycles);
+                cycleRatios.add(pairRatios.stream().mapToDouble(Double::doubleValue).toArray());
+            }
+        }
+
+        ratios = allRatios.stream().mapToDouble(Double::doubleValue).sorted().distinct().toArray();
+        lowerBound = calculateLowerBound(cycles, cycleRatios);
+
+        //order encoding: t >= ratios[k+1] implies t >= ratios[k]
+        thresholds = new BoolVar[ratios.length];
+        for (int k = 0; k < ratios.length; k++) {
+            thresholds[k] = model.newBoolVar("T_"+k);
+            if (k > 0) {
+                model.addImplication(thresholds[k], thresholds[k-1]);
+            }
+        }
+
+        //a cycle through k points is found for all k pairs of its edges, its directed cycles are only built once
+        Map<List<Integer>, Literal[]> directedCycles = new HashMap<>();
+
+        //for every two points i,j there should be at least one closed cycle through i,j which is short enough
+        int pair = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                List<Literal> closedCycles = new ArrayList<>();
+                List<int[]> pairCycles = cycles.get(pair);
+                double[] pairRatios = cycleRatios.get(pair);
+
+                for (int c = 0; c < pairCycles.size(); c++) {
+                    Literal threshold = thresholds[Arrays.binarySearch(ratios, pairRatios[c])];
+                    Literal[] directed = directedCycles.computeIfAbsent(canonicalCycle(pairCycles.get(c)),
+                            this::addDirectedCycles);
+
+                    //clock wise and counter clock wise cycle, each only if t is at least the ratio of the cycle
+                    for (Literal cycle : directed) {
+                        BoolVar covered = model.newBoolVar("P_"+i+"_"+j+"_"+closedCycles.size());
+                        model.addBoolAnd(new Literal[]{cycle, threshold}).onlyEnforceIf(covered);
+                        closedCycles.add(covered);
+                    }
+                }
+                model.addBoolOr(closedCycles);
+                pair++;
+            }
+        }
+    }
+
+    /**
+     * Calculates a lower bound for t from the geometry of the cycles. A pair whose only cycle with ratio 1 is its
+     * smallest triangle can only reach t below the next ratio if this triangle is a directed cycle. A directed
+     * triangle fixes the orientations of its edges relative to each other, these parities are merged with union-find.
+     * If two triangles need different parities for the same edges, t is at least the smallest ratio above 1.
+     * @return the smallest ratio above 1 if the triangles contradict each other, otherwise 1.
+     */
+    private double calculateLowerBound(List<List<int[]>> cycles, List<double[]> cycleRatios) {
+        BitOrientation edges = new BitOrientation(Math.max(numberOfPoints, 2));
+
+        //parent of every edge and the parity of the edge relative to its parent
+        int[] parent = new int[edges.length()];
+        boolean[] parity = new boolean[edges.length()];
+        for (int e = 0; e < parent.length; e++) {
+            parent[e] = e;
+        }
+
+        boolean contradiction = false;
+        for (int pair = 0; pair < cycles.size() && !contradiction; pair++) {
+            int[] triangle = null;
+            int tight = 0;
+            double[] pairRatios = cycleRatios.get(pair);
+
+            for (int c = 0; c < pairRatios.length; c++) {
+                if (pairRatios[c] <= 1 + EPSILON) {
+                    triangle = cycles.get(pair).get(c);
+                    tight++;
+                }
+            }
+
+            //pairs with several cycles of ratio 1 can choose, they don't give a constraint
+            if (tight != 1 || triangle.length != 3) {
+                continue;
+            }
+
+            //the edge u->v of a directed triangle has the bit (u<v) xor the direction of the triangle,
+            //so the parity between two of its edges doesn't depend on the direction
+            int a = triangle[0];
+            int b = triangle[1];
+            int c = triangle[2];
+            contradiction = !union(parent, parity, edgeIndex(edges, a, b), edgeIndex(edges, b, c), (a < b) != (b < c))
+                    || !union(parent, parity, edgeIndex(edges, a, b), edgeIndex(edges, c, a), (a < b) != (c < a));
+        }
+
+        if (!contradiction) {
+            return 1.0;
+        }
+        int k = upperIndex(1 + EPSILON);
+        return k < ratios.length ? ratios[k] : maxRatio;
+    }
+
+    private static int edgeIndex(BitOrientation edges, int u, int v) {
+        return edges.index(Math.min(u, v), Math.max(u, v));
+    }
+
+    /**
+     * Merges the sets of two edges with the given parity between them.
+     * @return false if the edges are already in the same set with the other parity.
+     */
+    private static boolean union(int[] parent, boolean[] parity, int e, int f, boolean p) {
+        int rootE = find(parent, parity, e);
+        int rootF = find(parent, parity, f);
+        boolean parityE = parity[e];
+        boolean parityF = parity[f];
+
+        if (rootE == rootF) {
+            return (parityE != parityF) == p;
+        }
+        parent[rootE] = rootF;
+        parity[rootE] = parityE ^ parityF ^ p;
+        return true;
+    }
+
+    /**
+     * Finds the root of the set of an edge and compresses the path, afterwards parity[e] is relative to the root.
+     */
+    private static int find(int[] parent, boolean[] parity, int e) {
+        if (parent[e] == e) {
+            return e;
+        }
+        int root = find(parent, parity, parent[e]);
+        parity[e] ^= parity[parent[e]];
+        parent[e] = root;
+        return root;
+    }
+
+    /**
+     * Enumerates the cycles path[0]->path[1]->...->path[0] with at most length points depth first.
+     * By the triangle inequality a cycle is never shorter than the path to its last point plus the direct way back,
+     * so a path is cut as soon as this sum exceeds maxLength.
+     * @param path the points of the current path, the first size entries are used.
+     * @param pathLength the length of the current path without the way back.
+     * @param visited the points of the current path.
+     * @param cycles the cycles which are found, each as a copy of the path.
+     * @param lengths the lengths of the cycles which are found.
+     */
+    private static void generateCycles(double[][] distances, int[] path, int size, double pathLength,
+                                       boolean[] visited, int length, double maxLength,
+                                       List<int[]> cycles, List<Double> lengths) {
+        int first = path[0];
+        int last = path[size - 1];
+
+        if (size >= 3) {
+            cycles.add(Arrays.copyOf(path, size));
+            lengths.add(pathLength + distances[last][first]);
+        }
+        if (size >= length) {
+            return;
+        }
+
+        for (int next = 0; next < distances.length; next++) {
+            if (visited[next]) {
+                continue;
+            }
+            double nextLength = pathLength + distances[last][next];
+            if (nextLength + distances[next][first] > maxLength) {
+                continue;
+            }
+
+            path[size] = next;
+            visited[next] = true;
+            generateCycles(distances, path, size + 1, nextLength, visited, length, maxLength, cycles, lengths);
+            visited[next] = false;
+        }
+    }
+
+    /**
+     * Rotates the cycle to start with its smallest point and chooses the direction in which the second point
+     * is smaller than the last one, so every cycle has one key independent of rotation and direction.
+     */
+    static List<Integer> canonicalCycle(int[] cycle) {
+        int size = cycle.length;
+        int start = 0;
+        for (int k = 1; k < size; k++) {
+            if (cycle[k] < cycle[start]) {
+                start = k;
+            }
+        }
+        int direction = cycle[(start + 1) % size] < cycle[(start + size - 1) % size] ? 1 : size - 1;
+
+        List<Integer> key = new ArrayList<>(size);
+        for (int k = 0; k < size; k++) {
+            key.add(cycle[(start + k * direction) % size]);
+        }
+        return key;
+    }
+
+    /**
+     * Adds the two literals of a cycle, each can only be true if all edges of the cycle are oriented
+     * in one direction.
+     * @param cycle the points of the cycle in canonical order.
+     * @return the literals of the clock wise and the counter clock wise cycle.
+     */
+    private Literal[] addDirectedCycles(List<Integer> cycle) {
+        Literal[] directed = new Literal[2];
+        for (int r = 0; r < 2; r++) {
+            BoolVar closed = model.newBoolVar("C_"+numberOfCycles++);
+
+            List<Literal> edges = new ArrayList<>();
+            for (int k = 0; k < cycle.size(); k++) {
+                int c = cycle.get(k);
+                int d = cycle.get((k + 1) % cycle.size());
+                edges.add(r == 0 ? x[c][d] : x[d][c]);
+            }
+
+            model.addBoolAnd(edges).onlyEnforceIf(closed);
+            directed[r] = closed;
+        }
+        return directed;
+    }
+
+    /**
+     * Solves the model for a given t.
+     * @param t the max. ratio of the cycles, at most maxRatio.
+     * @return an orientation with a short enough cycle through every two points, null if there is none.
+     */
+    public BitOrientation solve(double t) {
+        if (t > maxRatio) {
+            throw new IllegalArgumentException("The model only contains cycles up to the ratio "+maxRatio);
+        }
+
+        //forbid all cycles whose ratio is above t by fixing the threshold literal of the smallest ratio above t
+        //to false, unlike an assumption a fixed variable lets the presolve remove these cycles
+        if (fixedThreshold >= 0) {
+            setDomain(thresholds[fixedThreshold], 1);
+        }
+        fixedThreshold = upperIndex(t);
+        if (fixedThreshold < ratios.length) {
+            setDomain(thresholds[fixedThreshold], 0);
+        }
+        else {
+            fixedThreshold = -1;
+        }
+
+        CpSolver solver = new CpSolver();
+        CpSolverStatus status = solver.solve(model);
+
+        if (status != CpSolverStatus.OPTIMAL && status != CpSolverStatus.FEASIBLE) {
+            return null;
+        }
+
+        //bit = 1 means i->j like x[i][j] for i<j
+        BitOrientation orientation = new BitOrientation(numberOfPoints);
+        for (int i = 0; i < numberOfPoints; i++) {
+            for (int j = i + 1; j < numberOfPoints; j++) {
+                orientation.set(orientation.index(i, j), solver.booleanValue(x[i][j]));
+            }
+        }
+        return orientation;
+    }
+
+    /**
+     * Bisects over the sorted ratios of the model to find the smallest t for which the model can be solved.
+     * The optimum is always the ratio of one of the cycles, so it needs at most about log2(#ratios) solves.
+     * The dilation of every orientation found is evaluated exactly. It is never above the ratio it was solved for
+     * and often smaller, then all ratios between the two are skipped.
+     * @return the orientation with the smallest dilation found, (null, INF) if the model can't be solved at all.
+     */
+    public BestOrientation search() {
+        return search(new BestOrientation(null, INF));
+    }
+
+    /**
+     * Bisects over the sorted ratios like {@link #search()}, but only ratios between the lower bound
+     * and the dilation of a known orientation are tried.
+     * @param incumbent a known orientation and its dilation, e.g. of a heuristic.
+     * @return the orientation with the smallest dilation found, the incumbent if no orientation is better.
+     */
+    public BestOrientation search(BestOrientation incumbent) {
+        BestOrientation best = incumbent;
+
+        //every ratio below low is infeasible, only ratios up to high can beat the best orientation
+        int low = lowerBound > 1 ? upperIndex(Math.nextDown(lowerBound)) : 0;
+        int high = Math.min(ratios.length, upperIndex(best.dilation())) - 1;
+        boolean solved = best.orientation() != null;
+        while (low <= high) {
+            //without an orientation the largest ratio is tried first, if it fails the model has no solution at all
+            int mid = solved ? (low + high) >>> 1 : high;
+            BitOrientation witness = solve(ratios[mid]);
+
+            if (witness == null) {
+                if (!solved) {
+                    break;
+                }
+                low = mid + 1;
+            }
+            else {
+                solved = true;
+                best = better(best, witness);
+                high = Math.min(mid, upperIndex(best.dilation())) - 1;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Evaluates the orientation and returns it if its dilation is smaller than the one of best.
+     */
+    BestOrientation better(BestOrientation best, BitOrientation orientation) {
+        double dilation = OrientedDilation.calculateOrientedDilation(geometry, orientation);
+        return dilation < best.dilation() ? new BestOrientation(orientation, dilation) : best;
+    }
+
+    /**
+     * Passes an orientation to the solver as hint for the edge variables, e.g. the orientation of a heuristic.
+     * The hint is kept for all further calls of solve.
+     */
+    public void setHint(BitOrientation orientation) {
+        model.clearHints();
+        for (int i = 0; i < numberOfPoints; i++) {
+            for (int j = i + 1; j < numberOfPoints; j++) {
+                model.addHint((BoolVar) x[i][j], orientation.get(orientation.index(i, j)) ? 1 : 0);
+            }
+        }
+    }
+
+    /**
+     * Sets the domain of a Boolean variable to [0,max].
+     */
+    private static void setDomain(BoolVar variable, long max) {
+        variable.getBuilder().clearDomain().addDomain(0).addDomain(max);
+    }
+
+    /**
+     * @return the index of the smallest ratio above t.
+     */
+    private int upperIndex(double t) {
+        int k = Arrays.binarySearch(ratios, t);
+        return k >= 0 ? k+1 : -k-1;
+    }
+
+    public double getMaxRatio() {
+        return maxRatio;
+    }
+
+    /**
+     * @return a lower bound for t from the geometry, the model can't be solved for any smaller t.
+     */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * @return the sorted distinct ratios of all cycles of the model.
+     */
+    public double[] getRatios() {
+        return ratios.clone();
+    }
+
+    /**
+     * @return the number of directed cycle literals of the model, two for every distinct cycle.
+     */
+    public int getNumberOfCycles() {
+        return numberOfCycles;
+    }
+}
@@ -1,77 +1,86 @@
 package ILP;
+import Dilation.BestOrientation;
+import Dilation.PointSetGeometry;
+import Orientation.BitOrientation;
 import Points.Point;
-import com.google.ortools.Loader;
-import com.google.ortools.sat.*;
+import TwoApproximation.ApproxBrute;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 /**
  * This class implements the SAT Model for finding the minimum t-spanner on some point-set.
  * This version considers all Cycles of length [3,n].
- * It performs well for single point-sets up to 12 points.
+ * It performs well for single point-sets up to 12 points. The models only contain the cycles up to the upper bound
+ * of the search, a good heuristic orientation keeps them small for larger point-sets.
  */
 public class SAT {
+    //upper bound of the binary search without a heuristic orientation
+    final static double MAX_RATIO = 2.0;
+
     private final int numberOfPoints;
 
-    //array that holds all Euclidean distances
-    private final double[][] distances;
+    private final PointSetGeometry geometry;
+
+    //persistent model for every cycle length, built on the first call of solveSAT
+    private final CycleModel[] models;
+
+    //the orientation with the smallest dilation of all solutions found so far
+    private BestOrientation best = new BestOrientation(null, CycleModel.INF);
 
-    //array that holds perimeters of smallest triangle between every two points
-    private final double[][] triangles;
+    //orientation which is passed to every model as solution hint, null if there is none
+    private BitOrientation hint;
 
-    //list of all indices
-    private final List<Integer> sortedList;
+    //upper bound of the current search, new models only contain the cycles up to this ratio
+    private double ratioBound = MAX_RATIO;
 
     /**
      * Constructor
      */
     public SAT(List<Point> points) {
-        //initialise the attributes
-        numberOfPoints = points.size();
-
-        distances = new double[numberOfPoints][numberOfPoints];
-        triangles = new double[numberOfPoints][numberOfPoints];
-
-        for(int i=0;i<numberOfPoints;i++) {
-            distances[i][i]=0;
-            for (int j=i+1;j<numberOfPoints;j++) {
-                double distance = points.get(i).calculateDistance(points.get(j));
-                distances[i][j]=distance;
-                distances[j][i]= distance;
-            }
-
-        }
-
-        for(int i=0;i<numberOfPoints;i++) {
-            triangles[i][i]=0;
-            for (int j=i+1;j<numberOfPoints;j++) {
-                double triangle = calculateTriangle(distances,i,j);
-                triangles[i][j]=triangle;
-                triangles[j][i]= triangle;
-            }
-        }
-
-        sortedList = new ArrayList<>();
-        for(int i=0;i<numberOfPoints;i++) {
-            sortedList.add(i);
-        }
+        this(new PointSetGeometry(points));
+    }
 
+    /**
+     * Constructor for a point set whose distances and triangles are already computed
+     */
+    public SAT(PointSetGeometry geometry) {
+        //initialise the attributes
+        numberOfPoints = geometry.getNumberOfPoints();
+        this.geometry = geometry;
+        models = new CycleModel[numberOfPoints+1];
     }
 
     /**
-     * This method performs a binary search within the range [1.0, 2.0] to find the smallest
-     * t for that the SAT34 model can be solved. It returns an array holding t
-     * and the max. cycle length for which the model was solved.
+     * This method performs a binary search and returns the dilation of the best orientation found,
+     * rounded to four decimal places.
+     * The search starts with the orientation of {@link ApproxBrute}, whose dilation is at most 2.0.
      */
     public double[] binarySearch() {
+        return binarySearch(ApproxBrute.findBestOrientation(geometry.getPoints()));
+    }
+
+    /**
+     * This method performs a binary search and returns the dilation of the best orientation found, rounded to
+     * four decimal places. It is at most 0.0001 above the smallest t for that the SAT model can be solved.
+     * The range starts at the lower bound of the model and the dilation of the heuristic orientation
+     * (2.0 without an orientation). It returns an array holding this dilation
+     * and the smallest max. cycle length for which the model can be solved for it.
+     * The orientation of every solution is evaluated, its dilation becomes the new upper bound,
+     * which often skips several steps. The orientation is kept in getBestOrientation().
+     * @param heuristic an orientation and its dilation, e.g. of {@link ApproxBrute} or the greedy algorithm.
+     */
+    public double[] binarySearch(BestOrientation heuristic) {
+        useHeuristic(heuristic);
+
         //to keep track of length
         int length =0;
 
-        // Lower and upper bounds for the binary search
-        double low = 1.0;
-        double high = 2.0;
+        // Lower and upper bounds for the binary search, the model with all cycles gives the lower bound
+        double high = best.orientation() != null ? best.dilation() : 2.0;
+        //the tolerance keeps the cycles needed by smallestLength in the models
+        ratioBound = high * (1 + CycleModel.EPSILON);
+        double low = Math.max(1.0, model(numberOfPoints, high).getLowerBound());
 
         // Perform binary search until the difference between high and low is smaller than 0.0001
         while (high - low > 0.0001) {
@@ -82,11 +91,11 @@ public class SAT {
             boolean b = false;
             //try to solve with increasing cycle length
             for(int i=3;i<=numberOfPoints;i++) {
-                b= this.solveSAT(mid, i);
+                b= this.solveSAT(mid, i) != null;
 
-                // If solved, update the upper bound to mid
+                // If solved, update the upper bound to the dilation of the best orientation, which is at most mid
                  if(b) {
-                    high = mid;
+                    high = Math.min(mid, best.dilation());
                     length=i;
                     break;
                  }
@@ -99,6 +108,11 @@ public class SAT {
 
         }
 
+        //if no t below the heuristic could be solved, the length of the heuristic is still needed
+        if(length == 0) {
+            length = smallestLength(high);
+        }
+
         // Return the result rounded to four decimal places
 
         double result =  roundToFourDecimals(high);
@@ -106,208 +120,101 @@ public class SAT {
     }
 
     /**
-     * This method creates and solves a SAT34 model for a given t
+     * This method searches over the sorted ratios length/perimeter of all cycles instead of the range [1.0, 2.0].
+     * The smallest t is found with the model of all cycles, afterwards the smallest max. cycle length which
+     * reaches t is searched. It returns an array holding the exact t and this length.
+     * The orientation is kept in getBestOrientation(). The search starts with the orientation of {@link ApproxBrute}.
      */
-    public Boolean solveSAT(double t, int length) {
-        Loader.loadNativeLibraries();
-
-        // Create new SAT34 model for  every t
-        CpModel model = new CpModel();
-
-        int n = this.numberOfPoints;
-
-        //Array for orientation variables
-        BoolVar[][] x = new BoolVar[n][n];
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; ++j) {
-                if (i != j) {
-                    x[i][j] = model.newBoolVar("X_"+i+"_"+j);
-                }
-
-            }
-        }
-
-        // Constrains
-
-        //every node has at least one outgoing and one ingoing edge
-        for (int i = 0; i < n; i++) {
-            IntVar s = model.newIntVar(1, n - 2, "sum_"+i);
-            List<IntVar> expr = new ArrayList<>();
-            for (int j = 0; j < n; j++) {
-                if (i != j)
-                {
-                    expr.add(x[i][j]);
-                }
+    public double[] exactSearch() {
+        return exactSearch(ApproxBrute.findBestOrientation(geometry.getPoints()));
+    }
 
-            }
-            model.addEquality(s, LinearExpr.sum(expr.toArray(new IntVar[n-1])));
-        }
+    /**
+     * This method searches over the sorted ratios between the lower bound of the model with all cycles
+     * and the dilation of the heuristic orientation.
+     */
+    public double[] exactSearch(BestOrientation heuristic) {
+        useHeuristic(heuristic);
+        //the tolerance keeps the cycles needed by smallestLength in the models
+        ratioBound = best.orientation() != null ? best.dilation() * (1 + CycleModel.EPSILON) : Double.POSITIVE_INFINITY;
+        best = model(numberOfPoints, ratioBound).search(best);
+        double t = best.dilation();
+
+        return new double[]{t,smallestLength(t)};
+    }
 
-        //every edge is one-directed
-        for (int i = 0; i < n; i++) {
-            for (int j = i+1; j < n; j++) {
-                if (i != j) {
-                    model.addBoolXor(new BoolVar[]{x[i][j],x[j][i]});
-                }
+    /**
+     * Searches the smallest max. cycle length for which the model can be solved for t.
+     * The ratio of a cycle can be rounded 1 ulp above the dilation t of the same cycle,
+     * so the models are built and solved with a small tolerance above t.
+     */
+    private int smallestLength(double t) {
+        double tolerance = t * (1 + CycleModel.EPSILON);
 
+        //the model with all cycles is the only one left to try
+        for(int i=3;i<numberOfPoints;i++) {
+            if(model(i, tolerance).solve(tolerance) != null) {
+                return i;
             }
         }
+        return numberOfPoints;
+    }
 
-        //create an array to hold all cycles
-        //allCycles[i][j] holds a list of all possible cycles through i-j
-        List<BoolVar>[][] allCycles = new List[n][n];
-
-        // initialize the list
-        for (int i = 0; i < n; i++) {
-            for (int j = i+1; j < n; j++) { //work only on the top half of the matrix
-                allCycles[i][j] = new ArrayList<>();
-            }
+    /**
+     * Takes the heuristic orientation as best orientation if it is better and passes it to the solver as hint.
+     */
+    private void useHeuristic(BestOrientation heuristic) {
+        if(heuristic.orientation() == null) {
+            return;
         }
-
-
-        //for every two points i,j with i<j build a list with all cycles of length 3 and 4
-        for(int i=0;i<n;i++) {
-            for (int j = i + 1; j < n; j++) {
-
-                //list that holds every cycle through i and j
-                List<List<Integer>> cyclesList = new ArrayList<>();
-
-                //add cycles to the list
-                List<Integer> sorted = Arrays.asList(i, j);
-                List<Integer> unsorted = new ArrayList<>(sortedList);
-                unsorted.remove(Integer.valueOf(i));
-                unsorted.remove(Integer.valueOf(j));
-
-                generateCycles(length, cyclesList, sorted, unsorted);
-
-                //for every cycle in the list
-
-                for (List<Integer> list : cyclesList) {
-
-                    int a = list.get(0); //the i
-                    int b = list.get(1); //the j
-
-                    double perimeter = this.triangles[a][b]; //smallest triangle through ij
-                    double size = calculateLength(list); //length of the closed walk
-
-                    // if length of the cycle is at most t*perimeter of the smallest triangle through ij
-                    if(t>= size/perimeter)
-                    {
-                        //build the clauses
-
-                        //variable for a closed cycle
-                        BoolVar Cij = model.newBoolVar("C_" + i + "_" + j);
-
-                        //clock wise cycle
-                        BoolVar cW = model.newBoolVar("cW");
-                        List<Literal> cWCycle = new ArrayList<>();
-
-                        //counter clock wise cycle
-                        BoolVar cCW = model.newBoolVar("cCW");
-                        List<Literal> cCWCycle = new ArrayList<>();
-
-                        //build the cycles
-                        //for every edge cd in the cycle with c<d:
-                        //add Xcd to the clock wise cycle and Xdc to the counter clock wise cycle
-                        for (int k = 0; k < list.size() - 1; k++)
-                        {
-                            int c = list.get(k);
-                            int d = list.get(k + 1);
-
-                            cWCycle.add(x[c][d]);
-                            cCWCycle.add(x[d][c]);
-                        }
-
-                        int c = list.get(0);
-                        int d = list.get(list.size() - 1);
-                        cWCycle.add(x[d][c]);
-                        cCWCycle.add(x[c][d]);
-
-                        //Cycle variable is true only if all edges of the cycle are 1
-                        model.addMultiplicationEquality(cW, cWCycle.toArray(new Literal[0]));
-                        model.addMultiplicationEquality(cCW, cCWCycle.toArray(new Literal[0]));
-
-                        //check that there is indeed a closed cycle
-                        //Cij = true if cW = true or cCW = true
-                        model.addMaxEquality(Cij, new Literal[]{cW, cCW});
-
-                        // add the closed walk to the list of i,j
-                        allCycles[a][b].add(Cij);
-                    }
-                }
-            }
+        if(heuristic.dilation() < best.dilation()) {
+            best = heuristic;
         }
 
-        //for every two edges i,j there should be at least one cycle through i,j
-        for (int i = 0; i < n; i++) {
-            for (int j = i+1; j < n; j++) {
-                model.addAtLeastOne(allCycles[i][j].toArray(new Literal[0]));
+        hint = heuristic.orientation();
+        for(CycleModel model : models) {
+            if(model != null) {
+                model.setHint(hint);
             }
         }
-
-        //solve the model
-        CpSolver solver = new CpSolver();
-        CpSolverStatus status = solver.solve(model);
-
-        if (status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE) {
-            //print statistics
-            //System.out.println("Problem solved in " + solver.wallTime() + " milliseconds");
-            //System.out.println("Problem solved with length " + length);
-            return true;
-        }
-
-        else
-        {
-            return false;
-        }
     }
 
-
     /**
-     * Recursively generates cycles of elements and stores them in whereTo.
-     * Each generated sequence is stored as a separate list in whereTo.
+     * This method solves the SAT model for a given t. The model of a cycle length is only built once,
+     * every further t only fixes one threshold literal of the model (see {@link CycleModel}).
+     * It returns the orientation found by the solver or null if the model can't be solved.
      */
-    public static void generateCycles(int length, List<List<Integer>> whereTo, List<Integer> sorted, List<Integer> unsorted) {
-        // Base case: if the sorted list has reached the desired length, stop recursion
-        if (sorted.size() >= length) {
-            return;
-        }
-
-        // Iterate through each element in the unsorted list
-        for (int i : unsorted) {
-            // Create a new sorted list by copying the existing one and adding the current element
-            List<Integer> sortedNeu = new ArrayList<>(sorted);
-            sortedNeu.add(i);
+    public BitOrientation solveSAT(double t, int length) {
+        BitOrientation witness = model(length,t).solve(t);
 
-            // Add the new cycle to the list of results
-            whereTo.add(sortedNeu);
-
-            // Create a new unsorted list by copying the existing one and removing the current element
-            List<Integer> unsortedNeu = new ArrayList<>(unsorted);
-            unsortedNeu.remove(Integer.valueOf(i));
-
-            // Continue recursion if there are still elements left to process
-            if (!unsorted.isEmpty()) {
-                generateCycles(length, whereTo, sortedNeu, unsortedNeu);
-            }
+        if(witness != null) {
+            best = models[length].better(best, witness);
         }
+        return witness;
     }
 
     /**
-     * This method calculates and returns the length of a closed walk given by a list on indices
+     * @return the orientation with the smallest dilation found by the searches so far and its dilation.
      */
-    public double calculateLength(List<Integer> closedWalk) {
-        int a = closedWalk.get(0);
-        int b = closedWalk.get(closedWalk.size() - 1);
-        double length = this.distances[a][b];
+    public BestOrientation getBestOrientation() {
+        return best;
+    }
 
-        for (int k = 0; k < closedWalk.size() - 1; k++) {
-            a = closedWalk.get(k);
-            b = closedWalk.get(k + 1);
+    /**
+     * Returns the model for the cycle length, it is built again if it doesn't contain the cycles up to t.
+     * Cycles above the upper bound of the current search are never needed, so they are left out.
+     */
+    private CycleModel model(int length, double t) {
+        CycleModel model = models[length];
 
-            length = length + this.distances[a][b];
+        if(model == null || model.getMaxRatio() < t) {
+            model = new CycleModel(geometry, length, Math.max(t, ratioBound));
+            if(hint != null) {
+                model.setHint(hint);
+            }
+            models[length] = model;
         }
-        return length;
+        return model;
     }
 
     /**
@@ -315,30 +222,9 @@ public class SAT {
      * and saves it to the triangles[i][j]
      */
     public double calculateTriangle(double[][] adjacencyMatrix, int i, int j) {
-        if(i==j) return 99999;
-
-        else {
-            //get the length of the side i-j
-            double ijEdge = adjacencyMatrix[i][j];
-
-            double minDistance=99999;
-
-            //loop through all points
-            for(int k=0;k<adjacencyMatrix.length;k++) {
-                if(k!=i && k!=j)
-                {
-                    //determine length of sides j-k and k-i
-                    double distance = adjacencyMatrix[i][k] + adjacencyMatrix[j][k];
-                    //save the smallest sum of lengths
-                    minDistance = Math.min(minDistance,distance);
-                }
-            }
-            //calculate the smallest perimeter as length(i,j) + minimal sum of (i,k) and (j,k)
-            return ijEdge + minDistance;
-        }
+        return PointSetGeometry.calculateTriangle(adjacencyMatrix,i,j);
     }
 
-
     public double roundToFourDecimals(double value)
     {
         return Math.round(value * 10000.0) / 10000.0;
@@ -0,0 +1,207 @@
+package Orientation;
+
+import java.util.Arrays;
+
+/**
+ * This class holds an orientation of a complete graph as packed bits instead of a bit string.
+ * It uses the same encoding as the orientation strings: the edges (i,j) with i<j are numbered row by row
+ * through the top half of the adjacency matrix, and bit = 1 means i->j while bit = 0 means j->i.
+ * The bits are stored in long words, so an orientation can be changed in place without creating new objects.
+ */
+public class BitOrientation {
+
+    private final int numberOfPoints;
+
+    //number of edges, i.e. the length of the corresponding bit string
+    private final int length;
+
+    //bit with index k is stored in words[k/64] at position k%64
+    private final long[] words;
+
+    /**
+     * Creates an orientation of the complete graph on the given number of points where every bit is 0.
+     * @param numberOfPoints the number of vertices of the graph.
+     */
+    public BitOrientation(int numberOfPoints) {
+        if(numberOfPoints<2) {
+            throw new IllegalArgumentException("Number of points should be at least 2.");
+        }
+        this.numberOfPoints = numberOfPoints;
+        this.length = (int) ((long) numberOfPoints*(numberOfPoints-1)/2);
+        this.words = new long[(length+63)/64];
+    }
+
+    /**
+     * Converts an orientation bit string into a packed orientation.
+     * @param bitString a string of '0' and '1' representing an orientation.
+     * @param numberOfPoints the number of vertices of the graph.
+     * @return the packed orientation.
+     */
+    public static BitOrientation fromString(String bitString, int numberOfPoints) {
+        BitOrientation orientation = new BitOrientation(numberOfPoints);
+
+        if(bitString.length() != orientation.length) {
+            throw new IllegalArgumentException("Bit string doesn't match point set: "+bitString);
+        }
+
+        for(int k=0;k<bitString.length();k++) {
+            char bit = bitString.charAt(k);
+
+            if(bit=='1') {
+                orientation.words[k>>>6] |= 1L << k;
+            }
+
+            else if(bit!='0') {
+                throw new IllegalArgumentException("Bit string contains an invalid character: "+bitString);
+            }
+        }
+        return orientation;
+    }
+
+    public int getNumberOfPoints() {
+        return numberOfPoints;
+    }
+
+    /**
+     * @return the number of edges, which is the length of the corresponding bit string.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Calculates the index of the edge (i,j) with i<j in the bit string.
+     * @param i The row index (i < j)
+     * @param j The column index
+     * @return The index in the bit string
+     */
+    public int index(int i, int j) {
+        return (int) ((long) i*(2L*numberOfPoints-i-1)/2) + j-i-1;
+    }
+
+    /**
+     * @return the bit with the given index of the bit string.
+     */
+    public boolean get(int index) {
+        return (words[index>>>6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit with the given index of the bit string.
+     */
+    public void set(int index, boolean value) {
+        if(value) words[index>>>6] |= 1L << index;
+        else words[index>>>6] &= ~(1L << index);
+    }
+
+    /**
+     * Reverses the edge with the given index of the bit string.
+     */
+    public void flip(int index) {
+        words[index>>>6] ^= 1L << index;
+    }
+
+    /**
+     * Checks if the orientation contains the directed edge i->j.
+     * @param i the start vertex
+     * @param j the end vertex
+     * @return true if the edge between i and j is oriented i->j
+     */
+    public boolean hasEdge(int i, int j) {
+        if(i<j) return get(index(i,j));
+        else return !get(index(j,i));
+    }
+
+    /**
+     * Reverses the edge between the vertices i and j.
+     */
+    public void flip(int i, int j) {
+        if(i<j) flip(index(i,j));
+        else flip(index(j,i));
+    }
+
+    /**
+     * Sets the orientation to the value of the binary counter used by the brute force.
+     * The most significant bit of the value is the first character of the bit string.
+     * @param value the decimal value of the bit string.
+     */
+    public void setValue(long value) {
+        checkCounterLength();
+        words[0] = Long.reverse(value) >>> (64-length);
+    }
+
+    /**
+     * @return the decimal value of the bit string (see {@link #setValue(long)}).
+     */
+    public long getValue() {
+        checkCounterLength();
+        return Long.reverse(words[0]) >>> (64-length);
+    }
+
+    /**
+     * The binary counter only works for bit strings that fit into one long.
+     */
+    private void checkCounterLength() {
+        if(length>64) {
+            throw new IllegalStateException("Orientation with "+length+" edges doesn't fit into a long.");
+        }
+    }
+
+    /**
+     * @return the number of long words holding the bits.
+     */
+    public int numberOfWords() {
+        return words.length;
+    }
+
+    /**
+     * @return the long word with the given index, bit k of the bit string is bit k%64 of word k/64.
+     */
+    public long getWord(int wordIndex) {
+        return words[wordIndex];
+    }
+
+    /**
+     * Overwrites this orientation with another orientation on the same number of points.
+     */
+    public void copyFrom(BitOrientation other) {
+        if(other.numberOfPoints != numberOfPoints) {
+            throw new IllegalArgumentException("Orientations have different numbers of points.");
+        }
+        System.arraycopy(other.words,0,words,0,words.length);
+    }
+
+    /**
+     * @return a new orientation with the same bits.
+     */
+    public BitOrientation copy() {
+        BitOrientation copy = new BitOrientation(numberOfPoints);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * @return the orientation as a bit string.
+     */
+    @Override
+    public String toString() {
+        StringBuilder bitString = new StringBuilder(length);
+
+        for(int k=0;k<length;k++) {
+            bitString.append(get(k) ? '1' : '0');
+        }
+        return bitString.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof BitOrientation other)) return false;
+        return numberOfPoints == other.numberOfPoints && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31*numberOfPoints + Arrays.hashCode(words);
+    }
+}
@@ -64,6 +64,32 @@ public class OrientationMatrix
     }
 
 
+    /**
+     * Encodes the final orientation matrix into a packed orientation without building a string.
+     * Randomly assigns orientation to edges that remain not oriented.
+     * @param orientationMatrix the orientation matrix which holds orientation of a graph.
+     * @param orientation the packed orientation that is overwritten with the orientation of the graph.
+     */
+    public static void orientGraph(int [][] orientationMatrix, BitOrientation orientation) {
+        int numberOfEdges = orientationMatrix.length;
+        Random random = new Random();
+        int index = 0;
+
+        for (int i = 0; i < numberOfEdges; i++) {
+            for (int j = i + 1; j < numberOfEdges; j++) {
+                //if this edge was not oriented through a triangle
+                if (orientationMatrix[i][j] == INF) {
+                    orientation.set(index, random.nextInt(2) == 1);
+                }
+
+                else {
+                    orientation.set(index, orientationMatrix[i][j] == 1);
+                }
+                index++;
+            }
+        }
+    }
+
     /**
      * Orients a triangle by a fixed edge (start->end) and determining the other two edges.
      * @param orientationMatrix the orientation matrix which holds orientation of all edges.
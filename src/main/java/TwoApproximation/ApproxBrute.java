@@ -1,7 +1,9 @@
 package TwoApproximation;
 
-import Dilation.OrientedDilation;
+import BruteForce.BranchAndBound;
+import Dilation.BestOrientation;
 import InputOutputHandler.Writer;
+import Orientation.BitOrientation;
 import Orientation.OrientationMatrix;
 import Points.Point;
 import Points.PointGenerator;
@@ -9,6 +11,7 @@ import Points.PointGenerator;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * This class implements extended version of the Two-Approximation algorithm.
@@ -22,6 +25,28 @@ public class ApproxBrute {
      * Main method to orient the graph based on the input points.
      */
     public static double orient(List<Point> points) {
+        return findBestOrientation(points).dilation();
+    }
+
+    /**
+     * Orients the graph like {@link #orient(List)} and returns the best orientation together with its dilation,
+     * e.g. as a start solution for exact solvers.
+     */
+    public static BestOrientation findBestOrientation(List<Point> points) {
+
+        // Orient the edges of the smallest triangles
+        int [][] orientationMatrix = orientTriangles(points);
+
+        //search the completions of the remaining edges depth first without storing them,
+        //a partial completion is cut as soon as its lower bound can't beat the best completion
+        return new BranchAndBound(points,orientationMatrix).solve(new BestOrientation(null,INF));
+    }
+
+    /**
+     * Orients the edges of the triangles in ascending order of their perimeter like the Two-Approximation
+     * algorithm, edges which remain not oriented are INF in the returned orientation matrix.
+     */
+    public static int[][] orientTriangles(List<Point> points) {
 
         if(points.size()<3)
         {
@@ -43,81 +68,62 @@ public class ApproxBrute {
             TwoApproximationAlgorithm.orientTriangles(orientationMatrix,t);
         }
 
-        //process the orientation matrix and bruteforce all remaining edges
-        //create a list of all possible orientations
-        List<String> allOrientations = generateAllAdjacencyMatrixStrings(orientationMatrix);
-
-        double minDilation = INF;
-
-        //calculate dilation of every orientation
-        for(String orientation : allOrientations) {
-            double dilation = OrientedDilation.calculateOrientedDilation(points,orientation);
-            //save the smallest dilation
-            minDilation = Math.min(minDilation,dilation);
-        }
-
-        return minDilation;
+        return orientationMatrix;
     }
 
     /**
      * This method processes an orientation matrix and returns a list containing
      * all possible orientations of the graph based on remaining edges.
+     * The list grows exponentially with the remaining edges, see {@link #visitCompletions(int[][], Consumer)}.
      */
     public static List<String> generateAllAdjacencyMatrixStrings(int[][] matrix) {
         Set<String> results = new HashSet<>();
-        generateStrings(matrix, 0, 1, results);
+        visitCompletions(matrix, orientation -> results.add(orientation.toString()));
         return new ArrayList<>(results);
     }
 
     /**
-     * This method recursively generates all possible orientations of a given orientation matrix
-     * by systematically assigning values to unoriented edges. If an edge is already oriented,
-     * it remains unchanged. For each unoriented edge, the method explores two possibilities:
+     * This method generates all possible orientations of a given orientation matrix one at a time
+     * and passes each of them to the visitor, so no orientation is stored. If an edge is already oriented,
+     * it remains unchanged. For each unoriented edge the method explores two possibilities:
      * one where the edge is assigned a value of zero and another where it is assigned a value of one.
+     * The visitor always gets the same orientation object, it has to copy the orientation to keep it.
      */
-    private static void generateStrings(int[][] matrix, int row, int col, Set<String> results) {
-
-        //work only on the top right half of the matrix
-
-        //if an edge not oriented
-        if(matrix[row][col]==INF) {
+    public static void visitCompletions(int[][] matrix, Consumer<BitOrientation> visitor) {
+        int numberOfPoints = matrix.length;
+        BitOrientation orientation = new BitOrientation(numberOfPoints);
 
-            //try with 0
-            matrix[row][col]=0;
-            generateStrings(matrix,row,col,results);
-
-            //try with 1
-            matrix[row][col]=1;
-            generateStrings(matrix,row,col,results);
+        //set the oriented edges and collect the unoriented ones
+        List<Integer> remaining = new ArrayList<>();
+        for(int i=0;i<numberOfPoints;i++) {
+            for(int j=i+1;j<numberOfPoints;j++) {
+                int index = orientation.index(i,j);
 
-            //backtrack
-            matrix[row][col]=INF;
+                if(matrix[i][j]==INF) remaining.add(index);
+                else orientation.set(index,matrix[i][j]==1);
+            }
         }
 
-        //if the matrix was fully processed
-        else if(row==matrix.length-2 && col== matrix.length-1) {
-            //create the orientation string
-            String orientation = OrientationMatrix.orientGraph(matrix);
-            //add orientation to the list
-            results.add(orientation);
+        visitCompletions(orientation,remaining,0,visitor);
+    }
+
+    private static void visitCompletions(BitOrientation orientation, List<Integer> remaining, int next,
+                                         Consumer<BitOrientation> visitor) {
+        //all edges are oriented
+        if(next==remaining.size()) {
+            visitor.accept(orientation);
+            return;
         }
 
-        else{
-            //if the last entry of the row
-            //move to the next row
-            if(col== matrix.length-1) {
-                row=row+1;
-                col=row+1;
-                generateStrings(matrix,row,col,results);
-            }
+        int index = remaining.get(next);
 
-            else {
-                //move to the nex entry
-                col=col+1;
-                generateStrings(matrix,row,col,results);
-            }
-        }
+        //try with 0
+        orientation.set(index,false);
+        visitCompletions(orientation,remaining,next+1,visitor);
 
+        //try with 1
+        orientation.set(index,true);
+        visitCompletions(orientation,remaining,next+1,visitor);
     }
 
     /**
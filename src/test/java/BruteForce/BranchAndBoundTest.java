@@ -0,0 +1,46 @@
+package BruteForce;
+
+import Dilation.BestOrientation;
+import Dilation.OrientedDilation;
+import Points.Point;
+import Points.PointGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BranchAndBoundTest {
+
+    @Test
+    public void sameAsBruteForceTest() {
+        for (int n = 3; n <= 7; n++) {
+            for (int r = 0; r < 3; r++) {
+                List<Point> points = PointGenerator.generateUniquePoints(n);
+                BestOrientation best = new BranchAndBound(points).solve();
+
+                assertEquals(BruteForceAlgorithm.bruteForce(points), best.dilation(), 1e-9,
+                        "The calculated dilation is not minimal for " + points);
+                assertEquals(best.dilation(), OrientedDilation.calculateOrientedDilation(points, best.orientation()), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void withoutStartSolutionTest() {
+        List<Point> points = Arrays.asList(
+                new Point(1, 0),
+                new Point(1, 1),
+                new Point(0, 0),
+                new Point(0, 1)
+        );
+
+        BranchAndBound solver = new BranchAndBound(points);
+        BestOrientation best = solver.solve(new BestOrientation(null, 99999));
+
+        assertEquals(1.17157287525381, best.dilation(), 1e-9);
+        assertNotNull(best.orientation());
+        assertTrue(solver.getVisitedNodes() > 0);
+    }
+}
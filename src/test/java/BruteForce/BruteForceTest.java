@@ -1,9 +1,12 @@
 package BruteForce;
 
 import Points.Point;
+import Points.PointGenerator;
 import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -69,6 +72,48 @@ public class BruteForceTest {
                 "The calculated dilation is not minimal.");
     }
 
+    @Test
+    public void grayCodeTest()
+    {
+        //both orders must find the same minimum
+        for (int n = 3; n <= 6; n++) {
+            List<Point> points = PointGenerator.generateUniquePoints(n);
+
+            assertEquals(BruteForceAlgorithm.bruteForce(points), BruteForceAlgorithm.bruteForceGrayCode(points), 1e-9,
+                    "Different dilations for " + points);
+        }
+    }
+
+    @Test
+    public void parallelTest()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ParallelBruteForce parallel = new ParallelBruteForce(pool);
+
+        try {
+            for (int n = 3; n <= 7; n++) {
+                List<Point> points = PointGenerator.generateUniquePoints(n);
+
+                assertEquals(BruteForceAlgorithm.bruteForce(points), parallel.bruteForce(points),
+                        "Different dilations for " + points);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void updateMinimumTest()
+    {
+        AtomicLong best = new AtomicLong(Double.doubleToLongBits(2.5));
+
+        ParallelBruteForce.updateMinimum(best, 3);
+        assertEquals(2.5, Double.longBitsToDouble(best.get()));
+
+        ParallelBruteForce.updateMinimum(best, 1.25);
+        assertEquals(1.25, Double.longBitsToDouble(best.get()));
+    }
+
     @Test
     public void produceListOfOrientationsTest()
     {
@@ -0,0 +1,112 @@
+package BruteForce;
+
+import Dilation.OrientedDilation;
+import Orientation.BitOrientation;
+import Points.Point;
+import Points.PointGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckpointTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void writeAndReadTest() throws IOException {
+        List<Point> points = PointGenerator.generateUniquePoints(5);
+        Checkpoint checkpoint = new Checkpoint(points, 512, 959, 100);
+
+        BitOrientation orientation = BitOrientation.fromString("1010110011", 5);
+        checkpoint.update(orientation, 1.5);
+        checkpoint.update(BitOrientation.fromString("1111100000", 5), 2.0);
+        checkpoint.finish(1);
+        checkpoint.finish(4);
+
+        Path file = directory.resolve("search.checkpoint");
+        checkpoint.write(file);
+        Checkpoint read = Checkpoint.read(file);
+
+        assertEquals(points, read.getPoints());
+        assertEquals(5, read.getNumberOfChunks());
+        assertEquals(100, read.getChunkSize());
+        assertEquals(1.5, read.getBestDilation());
+        assertEquals(orientation, read.getBestOrientation());
+        assertEquals(2, read.numberOfFinishedChunks());
+        assertTrue(read.isFinished(4));
+        assertFalse(read.isFinished(0));
+
+        //only the checkpoint is left in the directory
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void invalidFileTest() throws IOException {
+        Path file = directory.resolve("points.txt");
+        Files.writeString(file, "[(0,0), (1,0), (0,1)]");
+
+        assertThrows(IOException.class, () -> Checkpoint.read(file));
+    }
+
+    @Test
+    public void finishedSearchTest() throws IOException {
+        List<Point> points = Arrays.asList(
+                new Point(1, 0),
+                new Point(1, 1),
+                new Point(0, 0),
+                new Point(0, 1)
+        );
+        Path file = directory.resolve("square.checkpoint");
+
+        ParallelBruteForce bruteForce = new ParallelBruteForce(new ForkJoinPool(2));
+        assertEquals(1.17157287525381, bruteForce.bruteForce(points, file), 1e-9);
+
+        Checkpoint checkpoint = Checkpoint.read(file);
+        assertEquals(checkpoint.getNumberOfChunks(), checkpoint.numberOfFinishedChunks());
+        assertEquals(1.17157287525381,
+                OrientedDilation.calculateOrientedDilation(points, checkpoint.getBestOrientation()), 1e-9);
+
+        //all chunks are finished, so the result comes from the file
+        assertEquals(1.17157287525381, bruteForce.resume(file), 1e-9);
+    }
+
+    @Test
+    public void resumeTest() throws IOException {
+        List<Point> points = PointGenerator.generateUniquePoints(7);
+        ParallelBruteForce bruteForce = new ParallelBruteForce(new ForkJoinPool(2), 0);
+        double expected = bruteForce.bruteForce(points);
+
+        //a search which was stopped after the first half of the chunks without finding an orientation
+        int bitStringLength = BruteForceAlgorithm.calculateBitStringLength(7);
+        Checkpoint checkpoint = new Checkpoint(points,
+                BruteForceAlgorithm.calculateCanonicalMinDecimalValue(bitStringLength, 7),
+                BruteForceAlgorithm.calculateMaxDecimalValue(bitStringLength, 7),
+                ParallelBruteForce.CHUNK_SIZE);
+        assertTrue(checkpoint.getNumberOfChunks() > 1);
+
+        for (int chunk = 0; chunk < checkpoint.getNumberOfChunks() / 2; chunk++) {
+            checkpoint.finish(chunk);
+        }
+        Path file = directory.resolve("random.checkpoint");
+        checkpoint.write(file);
+
+        //the result is the minimum of the remaining chunks
+        double resumed = bruteForce.resume(file);
+        assertTrue(resumed >= expected - 1e-9);
+
+        Checkpoint finished = Checkpoint.read(file);
+        assertEquals(finished.getNumberOfChunks(), finished.numberOfFinishedChunks());
+        assertEquals(resumed, OrientedDilation.calculateOrientedDilation(points, finished.getBestOrientation()), 1e-9);
+    }
+}
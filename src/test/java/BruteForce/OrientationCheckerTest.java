@@ -0,0 +1,72 @@
+package BruteForce;
+
+import Orientation.BitOrientation;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrientationCheckerTest {
+
+    @Test
+    public void sameAsStringCheckerTest() {
+        //all orientations of 5 points
+        StringChecker stringChecker = new StringChecker("", 5);
+        OrientationChecker checker = new OrientationChecker(5);
+        BitOrientation orientation = new BitOrientation(5);
+
+        for (long value = 0; value < 1024; value++) {
+            orientation.setValue(value);
+            stringChecker.set(orientation.toString());
+
+            assertEquals(stringChecker.checkString(), checker.check(orientation), "Wrong result for " + orientation);
+        }
+    }
+
+    @Test
+    public void outDegreeTest() {
+        //orientations with more than one long word
+        Random random = new Random();
+        for (int n : new int[]{3, 12, 40}) {
+            OrientationChecker checker = new OrientationChecker(n);
+            BitOrientation orientation = new BitOrientation(n);
+            for (int k = 0; k < orientation.length(); k++) {
+                orientation.set(k, random.nextBoolean());
+            }
+
+            for (int v = 0; v < n; v++) {
+                int expected = 0;
+                for (int j = 0; j < n; j++) {
+                    if (j != v && orientation.hasEdge(v, j)) expected++;
+                }
+                assertEquals(expected, checker.outDegree(orientation, v), "Wrong out-degree of " + v);
+            }
+        }
+    }
+
+    @Test
+    public void strongConnectivityTest() {
+        //vertex 0 has only outgoing edges
+        BitOrientation orientation = BitOrientation.fromString("111110", 4);
+        OrientationChecker checker = new OrientationChecker(4, true);
+        assertFalse(checker.check(orientation));
+
+        //valid degrees, but 0->1 and 0->2 lead into the cycle 1->2->3->1 and 3->0 is the only way back
+        orientation = BitOrientation.fromString("110101", 4);
+        assertTrue(checker.checkDegrees(orientation));
+        assertTrue(checker.isStronglyConnected(orientation));
+
+        //the cycles 0->1->2->0 and 3->4->5->3, all edges between them lead from {0,1,2} to {3,4,5}
+        orientation = BitOrientation.fromString("101111111111101", 6);
+        checker = new OrientationChecker(6, true);
+        assertTrue(checker.checkDegrees(orientation));
+        assertFalse(checker.isStronglyConnected(orientation));
+    }
+
+    @Test
+    public void wrongOrientationTest() {
+        OrientationChecker checker = new OrientationChecker(5);
+        assertThrows(IllegalArgumentException.class, () -> checker.check(new BitOrientation(4)));
+    }
+}
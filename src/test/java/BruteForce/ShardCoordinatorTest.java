@@ -0,0 +1,118 @@
+package BruteForce;
+
+import Dilation.BestOrientation;
+import Dilation.OrientedDilation;
+import Orientation.BitOrientation;
+import Points.Point;
+import Points.PointGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardCoordinatorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void shardFileTest() throws IOException {
+        List<Point> points = PointGenerator.generateUniquePoints(5);
+        BitOrientation base = BitOrientation.fromString("1000000001", 5);
+        Shard shard = new Shard(3, points, base, new int[]{2, 5, 7}, 2, 6);
+
+        Path file = directory.resolve("shard.bin");
+        shard.write(file);
+        Shard read = Shard.read(file);
+
+        assertEquals(3, read.getId());
+        assertEquals(points, read.getPoints());
+        assertEquals(2, read.getStart());
+        assertEquals(6, read.getEnd());
+
+        //the most significant bit of the counter is the first free edge
+        BitOrientation orientation = new BitOrientation(5);
+        read.setOrientation(orientation, 5);
+        assertEquals("1010000101", orientation.toString());
+
+        assertEquals(99999, read.createOrientationMatrix()[0][3]);
+        assertEquals(1, read.createOrientationMatrix()[0][1]);
+        assertEquals(0, read.createOrientationMatrix()[0][2]);
+    }
+
+    @Test
+    public void bruteForceShardsTest() throws IOException {
+        List<Point> points = PointGenerator.generateUniquePoints(6);
+
+        ShardCoordinator coordinator = new ShardCoordinator(directory);
+        assertEquals(7, coordinator.submitBruteForce(points, 7));
+        assertFalse(coordinator.isFinished());
+
+        //a second search can't be submitted into a queue which is in use
+        assertThrows(IOException.class, () -> coordinator.submitBruteForce(points, 2));
+
+        //two workers share the queue
+        ShardWorker first = new ShardWorker(directory);
+        ShardWorker second = new ShardWorker(directory);
+        assertEquals(7, first.run() + second.run());
+        assertTrue(coordinator.isFinished());
+
+        BestOrientation best = coordinator.merge();
+        assertEquals(BruteForceAlgorithm.bruteForce(points), best.dilation(), 1e-9);
+        assertEquals(best.dilation(), OrientedDilation.calculateOrientedDilation(points, best.orientation()), 1e-9);
+    }
+
+    @Test
+    public void localWorkersTest() throws IOException, InterruptedException {
+        List<Point> points = PointGenerator.generateUniquePoints(6);
+
+        ShardCoordinator coordinator = new ShardCoordinator(directory);
+        coordinator.submitBruteForce(points, 4);
+
+        //the workers run in their own JVMs on the same queue
+        BestOrientation best = coordinator.runLocalWorkers(2);
+        assertTrue(coordinator.isFinished());
+        assertEquals(BruteForceAlgorithm.bruteForce(points), best.dilation(), 1e-9);
+        assertEquals(best.dilation(), coordinator.merge().dilation(), 1e-9);
+        assertEquals(best.dilation(), OrientedDilation.calculateOrientedDilation(points, best.orientation()), 1e-9);
+    }
+
+    @Test
+    public void approxBruteShardsTest() throws IOException {
+        List<Point> points = PointGenerator.generateUniquePoints(7);
+
+        ShardCoordinator coordinator = new ShardCoordinator(directory);
+        int numberOfShards = coordinator.submitApproxBrute(points, 4);
+        assertEquals(numberOfShards, new ShardWorker(directory).run());
+
+        //the triangles are oriented randomly, so only the consistency of the result can be checked
+        BestOrientation best = coordinator.merge();
+        assertEquals(best.dilation(), OrientedDilation.calculateOrientedDilation(points, best.orientation()), 1e-9);
+        assertTrue(best.dilation() >= BruteForceAlgorithm.bruteForce(points) - 1e-9);
+    }
+
+    @Test
+    public void requeueTest() throws IOException {
+        List<Point> points = PointGenerator.generateUniquePoints(5);
+
+        ShardCoordinator coordinator = new ShardCoordinator(directory);
+        int numberOfShards = coordinator.submitBruteForce(points, 3);
+
+        //a worker crashed after claiming a shard
+        Path shard = ShardCoordinator.list(directory.resolve(ShardCoordinator.PENDING)).get(0);
+        Files.move(shard, directory.resolve(ShardCoordinator.CLAIMED).resolve(shard.getFileName()));
+
+        assertEquals(numberOfShards - 1, new ShardWorker(directory).run());
+        assertFalse(coordinator.isFinished());
+
+        assertEquals(1, coordinator.requeueClaimed());
+        assertEquals(1, new ShardWorker(directory).run());
+        assertTrue(coordinator.isFinished());
+        assertEquals(BruteForceAlgorithm.bruteForce(points), coordinator.merge().dilation(), 1e-9);
+    }
+}
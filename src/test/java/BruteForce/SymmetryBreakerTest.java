@@ -0,0 +1,117 @@
+package BruteForce;
+
+import Dilation.OrientedDilation;
+import Orientation.BitOrientation;
+import Orientation.OrientationMatrix;
+import Points.Point;
+import Points.PointGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SymmetryBreakerTest {
+
+    private static List<Point> hexagon() {
+        List<Point> points = new ArrayList<>();
+        for (int k = 0; k < 6; k++) {
+            points.add(new Point(Math.cos(k * Math.PI / 3), Math.sin(k * Math.PI / 3)));
+        }
+        return points;
+    }
+
+    @Test
+    public void reversalTest() {
+        SymmetryBreaker symmetry = SymmetryBreaker.reversal(4);
+        BitOrientation orientation = new BitOrientation(4);
+
+        assertTrue(symmetry.isReversalOnly());
+        assertEquals(2, symmetry.groupSize());
+
+        //canonical under reversal means the first bit is '1'
+        for (long value = 0; value < 64; value++) {
+            orientation.setValue(value);
+            assertEquals(orientation.get(0), symmetry.isCanonical(orientation));
+        }
+    }
+
+    @Test
+    public void groupSizeTest() {
+        List<Point> square = Arrays.asList(
+                new Point(0, 0),
+                new Point(1, 0),
+                new Point(0, 1),
+                new Point(1, 1)
+        );
+
+        //8 symmetries of the square and of the regular hexagon 12, each with and without reversal
+        assertEquals(16, SymmetryBreaker.detect(square).groupSize());
+        assertEquals(24, SymmetryBreaker.detect(hexagon()).groupSize());
+        assertTrue(SymmetryBreaker.detect(PointGenerator.generateUniquePoints(7)).groupSize() >= 2);
+    }
+
+    @Test
+    public void oneCanonicalOrientationPerOrbitTest() {
+        List<Point> cross = Arrays.asList(
+                new Point(0, 0),
+                new Point(1, 0),
+                new Point(-1, 0),
+                new Point(0, 1),
+                new Point(0, -1)
+        );
+        SymmetryBreaker symmetry = SymmetryBreaker.detect(cross);
+        OrientationChecker checker = new OrientationChecker(5);
+        BitOrientation orientation = new BitOrientation(5);
+
+        //the minimum over the canonical orientations is the minimum over all orientations
+        double minDilation = 99999;
+        double minCanonicalDilation = 99999;
+        int numberOfCanonical = 0;
+        for (long value = 0; value < (1L << 10); value++) {
+            orientation.setValue(value);
+            boolean canonical = symmetry.isCanonical(orientation);
+            if (canonical) numberOfCanonical++;
+            if (!checker.check(orientation)) continue;
+
+            double dilation = OrientedDilation.calculateOrientedDilation(cross, orientation);
+            minDilation = Math.min(minDilation, dilation);
+            if (canonical) minCanonicalDilation = Math.min(minCanonicalDilation, dilation);
+        }
+
+        assertEquals(minDilation, minCanonicalDilation, 1e-9);
+        assertEquals(minDilation, BruteForceAlgorithm.bruteForce(cross), 1e-9);
+
+        //every orbit has at most 16 orientations
+        assertTrue(numberOfCanonical >= (1 << 10) / 16);
+        assertTrue(numberOfCanonical < (1 << 10) / 2);
+    }
+
+    @Test
+    public void stabilizerTest() {
+        SymmetryBreaker symmetry = SymmetryBreaker.reversal(4);
+        int[][] orientationMatrix = OrientationMatrix.createMatrix(new ArrayList<>(Arrays.asList(
+                new Point(0, 0), new Point(1, 0), new Point(0, 1), new Point(1, 1))));
+
+        //without oriented edges the reversal maps completions onto completions
+        assertEquals(2, symmetry.stabilizer(orientationMatrix).groupSize());
+
+        //the reversal changes an oriented edge
+        orientationMatrix[0][1] = 1;
+        SymmetryBreaker stabilizer = symmetry.stabilizer(orientationMatrix);
+        assertEquals(1, stabilizer.groupSize());
+        assertTrue(stabilizer.isCanonical(BitOrientation.fromString("100000", 4)));
+    }
+
+    @Test
+    public void hexagonTest() {
+        List<Point> points = hexagon();
+
+        double bruteForce = BruteForceAlgorithm.bruteForce(points);
+        assertEquals(bruteForce, BruteForceAlgorithm.bruteForceGrayCode(points), 1e-9);
+        assertEquals(bruteForce, new ParallelBruteForce().bruteForce(points), 1e-9);
+        assertEquals(bruteForce, new BranchAndBound(points).solve().dilation(), 1e-9);
+    }
+}
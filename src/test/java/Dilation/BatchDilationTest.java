@@ -0,0 +1,73 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+import Orientation.OrientationMatrix;
+import Points.Point;
+import Points.PointGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchDilationTest {
+
+    /**
+     * Creates random orientations of a point set.
+     */
+    private List<BitOrientation> randomOrientations(List<Point> points, int count) {
+        List<BitOrientation> orientations = new ArrayList<>();
+        for (int k = 0; k < count; k++) {
+            BitOrientation orientation = new BitOrientation(points.size());
+            OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points), orientation);
+            orientations.add(orientation);
+        }
+        return orientations;
+    }
+
+    @Test
+    public void findBestTest() {
+        List<Point> points = PointGenerator.generateUniquePoints(7);
+        List<BitOrientation> orientations = randomOrientations(points, 300);
+
+        //expected minimum with the full evaluation
+        double expected = Double.POSITIVE_INFINITY;
+        for (BitOrientation orientation : orientations) {
+            expected = Math.min(expected, OrientedDilation.calculateOrientedDilation(points, orientation));
+        }
+
+        BatchDilation batch = new BatchDilation(points);
+        BestOrientation best = batch.findBest(orientations.iterator());
+
+        assertEquals(expected, best.dilation(), 1e-9);
+        assertEquals(best.dilation(), OrientedDilation.calculateOrientedDilation(points, best.orientation()), 1e-9);
+
+        BestOrientation parallel = batch.findBest(orientations.parallelStream());
+        assertEquals(best.dilation(), parallel.dilation());
+    }
+
+    @Test
+    public void reusedOrientationTest() {
+        List<Point> points = PointGenerator.generateUniquePoints(5);
+        List<BitOrientation> orientations = randomOrientations(points, 50);
+
+        //the producer changes one object in place, the best orientation must still be kept
+        BitOrientation reused = new BitOrientation(5);
+        BestOrientation best = new BatchDilation(points).findBest(orientations.stream().map(orientation -> {
+            reused.copyFrom(orientation);
+            return reused;
+        }).iterator());
+
+        assertNotSame(reused, best.orientation());
+        assertEquals(best.dilation(), OrientedDilation.calculateOrientedDilation(points, best.orientation()), 1e-9);
+    }
+
+    @Test
+    public void emptyTest() {
+        BestOrientation best = new BatchDilation(PointGenerator.generateUniquePoints(4)).findBest(new ArrayList<BitOrientation>().iterator());
+
+        assertNull(best.orientation());
+        assertEquals(99999, best.dilation());
+    }
+}
@@ -31,4 +31,28 @@ public class FloydWarshallAlgorithmTest {
             assertArrayEquals(expected[i], result[i], "Row " + i + " does not match");
         }
     }
+
+    @Test
+    public void testFlatFloydWarshallAlgorithm() {
+
+        final double sqrt = Math.sqrt(2);
+
+        double[] graph = {
+                0,1,99999,sqrt,
+                99999,0,sqrt,99999,
+                1,99999,0,1,
+                99999,1,99999,0
+        };
+
+        double[] expected = {
+                0,1,1+sqrt,sqrt,
+                1+sqrt,0,sqrt,1+sqrt,
+                1,2,0,1,
+                2+sqrt,1,1+sqrt,0
+        };
+
+        FloydWarshallAlgorithm.floydWarshall(graph,4);
+
+        assertArrayEquals(expected, graph, "Flat matrix does not match");
+    }
 }
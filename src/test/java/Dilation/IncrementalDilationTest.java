@@ -0,0 +1,61 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+import Orientation.OrientationMatrix;
+import Points.Point;
+import Points.PointGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalDilationTest {
+
+    @Test
+    public void startOrientationTest() {
+        List<Point> points = Arrays.asList(
+                new Point(1, 0),
+                new Point(1, 1),
+                new Point(0, 0),
+                new Point(0, 1)
+        );
+        IncrementalDilation evaluator = new IncrementalDilation(points, BitOrientation.fromString("010001", 4));
+
+        assertEquals(OrientedDilation.calculateOrientedDilation(points, "010001"), evaluator.getMaxDilation(), 1e-12);
+    }
+
+    @Test
+    public void flipTest() {
+        Random random = new Random(7);
+
+        for (int n : new int[]{4, 6, 9}) {
+            List<Point> points = PointGenerator.generateUniquePoints(n);
+            String start = OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points));
+            BitOrientation orientation = BitOrientation.fromString(start, n);
+
+            IncrementalDilation evaluator = new IncrementalDilation(points, orientation);
+
+            for (int step = 0; step < 200; step++) {
+                int i = random.nextInt(n);
+                int j = random.nextInt(n);
+                if (i == j) continue;
+
+                evaluator.flip(i, j);
+                orientation.flip(i, j);
+
+                assertEquals(orientation, evaluator.getOrientation());
+
+                double expected = OrientedDilation.calculateOrientedDilation(points, orientation);
+                assertEquals(expected, evaluator.getMaxDilation(), 1e-9, "Wrong dilation after flip " + step);
+
+                //the worst pair attains the max dilation
+                int[] pair = evaluator.getWorstPair();
+                double[][] adjacencyMatrix = AdjacencyMatrix.createDistanceMatrix(points, orientation);
+                assertEquals(expected, OrientedDilation.calculateDilation(adjacencyMatrix, pair[0], pair[1]), 1e-9);
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package Dilation;
 
+import Orientation.BitOrientation;
+import Orientation.OrientationMatrix;
 import Points.Point;
+import Points.PointGenerator;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
@@ -83,6 +86,20 @@ public class OrientedDilationTest {
     }
 
 
+    @Test
+    public void calculateDilationFromDistanceMatrixTest()
+    {
+        double[][] distanceMatrix = FloydWarshallAlgorithm.floydWarshall(adjacencyMatrix);
+        for (int i = 0; i < numberOfPoints; i++) {
+            for (int j = 0; j < numberOfPoints; j++) {
+                assertEquals(OrientedDilation.calculateDilation(adjacencyMatrix,i,j),
+                        OrientedDilation.calculateDilation(adjacencyMatrix,distanceMatrix,i,j),
+                        "Wrong dilation for " + i + " , " + j);
+            }
+        }
+    }
+
+
     @Test
     public void calculateMaxDilationTest()
     {
@@ -94,4 +111,27 @@ public class OrientedDilationTest {
     }
 
 
+    @Test
+    public void calculateSeveralOrientationsTest()
+    {
+        //more orientations than lanes, so the last group is not full
+        List<Point> randomPoints = PointGenerator.generateUniquePoints(7);
+        PointSetGeometry geometry = new PointSetGeometry(randomPoints);
+        BitOrientation[] orientations = new BitOrientation[19];
+
+        for (int k = 0; k < orientations.length; k++) {
+            orientations[k] = new BitOrientation(7);
+            OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(randomPoints), orientations[k]);
+        }
+
+        double[] dilations = new double[orientations.length];
+        OrientedDilation.calculateOrientedDilation(geometry, orientations, dilations);
+
+        for (int k = 0; k < orientations.length; k++) {
+            assertEquals(OrientedDilation.calculateOrientedDilation(geometry, orientations[k], ShortestPathKernel.scalar()),
+                    dilations[k], "Wrong dilation for orientation " + k);
+        }
+    }
+
+
 }
\ No newline at end of file
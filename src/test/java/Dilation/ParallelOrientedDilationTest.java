@@ -0,0 +1,55 @@
+package Dilation;
+
+import GreedyEdges.GreedyAlgorithm;
+import Orientation.BitOrientation;
+import Orientation.OrientationMatrix;
+import Points.Point;
+import Points.PointGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelOrientedDilationTest {
+
+    @Test
+    public void sameAsSequentialTest() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ParallelOrientedDilation evaluator = new ParallelOrientedDilation(pool);
+
+        try {
+            for (int n : new int[]{3, 9, 40, 120}) {
+                List<Point> points = PointGenerator.generateUniquePoints(n);
+                PointSetGeometry geometry = new PointSetGeometry(points);
+                BitOrientation orientation = GreedyAlgorithm.createOrientation(points);
+
+                double sequential = ParallelOrientedDilation.calculateSequential(geometry, orientation);
+                double parallel = evaluator.calculateOrientedDilation(geometry, orientation);
+
+                assertEquals(sequential, parallel, "Different dilations for n=" + n);
+                assertEquals(OrientedDilation.calculateOrientedDilation(points, orientation), parallel, 1e-9);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void randomOrientationTest() {
+        List<Point> points = PointGenerator.generateUniquePoints(30);
+        BitOrientation orientation = new BitOrientation(30);
+        OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points), orientation);
+
+        double expected = OrientedDilation.calculateOrientedDilation(points, orientation);
+        assertEquals(expected, new ParallelOrientedDilation().calculateOrientedDilation(points, orientation), 1e-9);
+    }
+
+    @Test
+    public void wrongOrientationTest() {
+        PointSetGeometry geometry = new PointSetGeometry(PointGenerator.generateUniquePoints(5));
+        assertThrows(IllegalArgumentException.class,
+                () -> ParallelOrientedDilation.calculateSequential(geometry, new BitOrientation(6)));
+    }
+}
@@ -0,0 +1,48 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+import Points.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointSetGeometryTest {
+
+    List<Point> points = Arrays.asList(
+            new Point(1, 0),
+            new Point(1, 1),
+            new Point(0, 0),
+            new Point(0, 1)
+    );
+
+    @Test
+    public void distancesAndTrianglesTest() {
+        PointSetGeometry geometry = new PointSetGeometry(points);
+        double triangle = 1 + 1 + Math.sqrt(2);
+
+        assertEquals(4, geometry.getNumberOfPoints());
+        assertEquals(Math.sqrt(2), geometry.getDistance(0, 3));
+        assertEquals(1, geometry.getDistance(3, 1));
+
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                if (i != j) {
+                    assertEquals(triangle, geometry.getTriangle(i, j), "Wrong triangle for " + i + " , " + j);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void orientedDilationTest() {
+        PointSetGeometry geometry = new PointSetGeometry(points);
+
+        for (String orientation : new String[]{"010001", "101101", "110010"}) {
+            assertEquals(OrientedDilation.calculateOrientedDilation(points, orientation),
+                    OrientedDilation.calculateOrientedDilation(geometry, BitOrientation.fromString(orientation, 4)));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+import Orientation.OrientationMatrix;
+import Points.Point;
+import Points.PointGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortestPathKernelTest {
+
+    /**
+     * Creates the Floyd-Warshall input for a random point set and orientation.
+     */
+    private double[] randomGraph(int n) {
+        List<Point> points = PointGenerator.generateUniquePoints(n);
+        BitOrientation orientation = new BitOrientation(n);
+        OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points), orientation);
+
+        double[] matrix = new double[n * n];
+        AdjacencyMatrix.fillDistanceMatrix(new PointSetGeometry(points), orientation, matrix);
+        return matrix;
+    }
+
+    @Test
+    public void automaticKernelTest() {
+        for (int n : new int[]{5, 16, 37}) {
+            double[] expected = randomGraph(n);
+            double[] matrix = expected.clone();
+
+            FloydWarshallAlgorithm.floydWarshall(expected, n);
+            ShortestPathKernel.automatic().floydWarshall(matrix, n);
+
+            assertArrayEquals(expected, matrix, "Wrong shortest paths for n=" + n);
+        }
+    }
+
+    @Test
+    public void vectorKernelTest() {
+        if (!ShortestPathKernel.isVectorAvailable()) {
+            assertThrows(IllegalStateException.class, ShortestPathKernel::vector);
+            return;
+        }
+
+        for (int n : new int[]{3, 9, 33, 64}) {
+            double[] expected = randomGraph(n);
+            double[] matrix = expected.clone();
+
+            FloydWarshallAlgorithm.floydWarshall(expected, n);
+            ShortestPathKernel.vector().floydWarshall(matrix, n);
+
+            assertArrayEquals(expected, matrix, "Wrong shortest paths for n=" + n);
+        }
+    }
+
+    @Test
+    public void blockedKernelTest() {
+        //block sizes that divide n, that don't divide n and that are bigger than n
+        for (int n : new int[]{3, 10, 40, 70}) {
+            for (int blockSize : new int[]{1, 4, 16, 64}) {
+                double[] expected = randomGraph(n);
+                double[] matrix = expected.clone();
+
+                FloydWarshallAlgorithm.floydWarshall(expected, n);
+                ShortestPathKernel.blocked(blockSize).floydWarshall(matrix, n);
+
+                assertArrayEquals(expected, matrix, 1e-9, "Wrong shortest paths for n=" + n + ", block size " + blockSize);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> ShortestPathKernel.blocked(0));
+    }
+
+    @Test
+    public void blockedOrientedDilationTest() {
+        List<Point> points = PointGenerator.generateUniquePoints(30);
+        PointSetGeometry geometry = new PointSetGeometry(points);
+        BitOrientation orientation = new BitOrientation(30);
+        OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points), orientation);
+
+        double expected = OrientedDilation.calculateOrientedDilation(geometry, orientation, ShortestPathKernel.scalar());
+        double blocked = OrientedDilation.calculateOrientedDilation(geometry, orientation, ShortestPathKernel.blocked(8));
+
+        assertEquals(expected, blocked, 1e-9);
+    }
+}
@@ -0,0 +1,56 @@
+package Dilation;
+
+import GreedyEdges.GreedyAlgorithm;
+import Orientation.BitOrientation;
+import Orientation.OrientationMatrix;
+import Points.Point;
+import Points.PointGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingOrientedDilationTest {
+
+    @Test
+    public void sameAsMatrixEvaluationTest() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+
+        try {
+            for (int n : new int[]{3, 7, 25, 80}) {
+                List<Point> points = PointGenerator.generateUniquePoints(n);
+                BitOrientation orientation = GreedyAlgorithm.createOrientation(points);
+                StreamingOrientedDilation evaluator = new StreamingOrientedDilation(points, pool);
+
+                double expected = OrientedDilation.calculateOrientedDilation(points, orientation);
+                double sequential = evaluator.calculateSequential(orientation);
+
+                assertEquals(expected, sequential, 1e-9, "Wrong dilation for n=" + n);
+                assertEquals(sequential, evaluator.calculateOrientedDilation(orientation));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void disconnectedOrientationTest() {
+        //random orientations may have vertices without incoming or outgoing edges
+        for (int r = 0; r < 20; r++) {
+            List<Point> points = PointGenerator.generateUniquePoints(6);
+            BitOrientation orientation = new BitOrientation(6);
+            OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points), orientation);
+
+            double expected = OrientedDilation.calculateOrientedDilation(points, orientation);
+            assertEquals(expected, new StreamingOrientedDilation(points).calculateSequential(orientation), 1e-9);
+        }
+    }
+
+    @Test
+    public void wrongOrientationTest() {
+        StreamingOrientedDilation evaluator = new StreamingOrientedDilation(PointGenerator.generateUniquePoints(5));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.calculateOrientedDilation(new BitOrientation(4)));
+    }
+}
@@ -0,0 +1,52 @@
+package Dilation;
+
+import Orientation.BitOrientation;
+import Orientation.OrientationMatrix;
+import Points.Point;
+import Points.PointGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThresholdDilationTest {
+
+    @Test
+    public void noBoundTest() {
+        List<Point> points = PointGenerator.generateUniquePoints(8);
+        ThresholdDilation evaluator = new ThresholdDilation(points);
+
+        for (int r = 0; r < 50; r++) {
+            String orientation = OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points));
+            BoundedDilation dilation = evaluator.calculate(BitOrientation.fromString(orientation, 8),
+                    Double.POSITIVE_INFINITY);
+
+            assertFalse(dilation.exceeded());
+            assertEquals(28, dilation.checkedPairs());
+            assertEquals(OrientedDilation.calculateOrientedDilation(points, orientation), dilation.dilation(), 1e-9);
+        }
+    }
+
+    @Test
+    public void earlyExitTest() {
+        List<Point> points = PointGenerator.generateUniquePoints(8);
+        ThresholdDilation evaluator = new ThresholdDilation(points);
+
+        for (int r = 0; r < 50; r++) {
+            String orientation = OrientationMatrix.orientGraph(OrientationMatrix.createMatrix(points));
+            double exact = OrientedDilation.calculateOrientedDilation(points, orientation);
+            double bound = exact * 0.9;
+
+            BoundedDilation dilation = OrientedDilation.calculateOrientedDilation(points,
+                    BitOrientation.fromString(orientation, 8), bound);
+
+            assertTrue(dilation.exceeded());
+            assertTrue(dilation.dilation() >= bound);
+            assertTrue(dilation.dilation() <= exact + 1e-9);
+
+            //the same result with the reused evaluator
+            assertTrue(evaluator.calculate(BitOrientation.fromString(orientation, 8), bound).exceeded());
+        }
+    }
+}
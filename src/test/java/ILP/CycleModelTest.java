@@ -0,0 +1,92 @@
+package ILP;
+
+import BruteForce.BruteForceAlgorithm;
+import Dilation.PointSetGeometry;
+import Points.Point;
+import Points.PointGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CycleModelTest {
+
+    @Test
+    public void canonicalCycleTest() {
+        int[] cycle = {3, 1, 4, 0, 2};
+        List<Integer> expected = Arrays.asList(0, 2, 3, 1, 4);
+
+        for (int start = 0; start < cycle.length; start++) {
+            int[] rotated = new int[cycle.length];
+            int[] reversed = new int[cycle.length];
+            for (int k = 0; k < cycle.length; k++) {
+                rotated[k] = cycle[(start + k) % cycle.length];
+                reversed[k] = cycle[(start - k + cycle.length) % cycle.length];
+            }
+
+            assertEquals(expected, CycleModel.canonicalCycle(rotated), "Wrong key for " + Arrays.toString(rotated));
+            assertEquals(expected, CycleModel.canonicalCycle(reversed), "Wrong key for " + Arrays.toString(reversed));
+        }
+    }
+
+    @Test
+    public void numberOfCyclesTest() {
+        List<Point> points = PointGenerator.generateUniquePoints(6);
+        PointSetGeometry geometry = new PointSetGeometry(points);
+
+        //K6 has 20 triangles, 45 cycles with 4 points, 72 with 5 and 60 with 6, each in two directions
+        assertEquals(2 * (20 + 45), new CycleModel(geometry, 4, Double.POSITIVE_INFINITY).getNumberOfCycles());
+        assertEquals(2 * (20 + 45 + 72 + 60),
+                new CycleModel(geometry, 6, Double.POSITIVE_INFINITY).getNumberOfCycles());
+    }
+
+    @Test
+    public void pruningTest() {
+        for (int r = 0; r < 5; r++) {
+            PointSetGeometry geometry = new PointSetGeometry(PointGenerator.generateUniquePoints(7));
+
+            //the pruned enumeration must find the same ratios as the full one
+            double[] all = new CycleModel(geometry, 7, Double.POSITIVE_INFINITY).getRatios();
+            double[] pruned = new CycleModel(geometry, 7, 1.4).getRatios();
+
+            assertArrayEquals(Arrays.stream(all).filter(ratio -> ratio <= 1.4).toArray(), pruned);
+        }
+    }
+
+    @Test
+    public void lowerBoundTest() {
+        for (int n = 3; n <= 7; n++) {
+            for (int r = 0; r < 3; r++) {
+                List<Point> points = PointGenerator.generateUniquePoints(n);
+                CycleModel model = new CycleModel(new PointSetGeometry(points), n, Double.POSITIVE_INFINITY);
+
+                assertTrue(model.getLowerBound() >= 1.0);
+                assertTrue(model.getLowerBound() <= BruteForceAlgorithm.bruteForce(points) + 1e-9,
+                        "Lower bound above the optimum for " + points);
+            }
+        }
+    }
+
+    @Test
+    public void exactLowerBoundTest() {
+        List<Point> points = Arrays.asList(
+                new Point(0, 0),
+                new Point(4, 0),
+                new Point(1, 3),
+                new Point(5, 4),
+                new Point(2, 6)
+        );
+        double optimum = BruteForceAlgorithm.bruteForce(points);
+
+        //the triangles that are tight at 1.0 cannot all be oriented consistently
+        for (int length = 4; length <= 5; length++) {
+            double bound = new CycleModel(new PointSetGeometry(points), length, Double.POSITIVE_INFINITY).getLowerBound();
+
+            assertEquals(1.02357982262331, bound, 1e-9);
+            assertTrue(bound > 1.0);
+            assertTrue(bound <= optimum + 1e-9, "Lower bound above the optimum " + optimum);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package ILP;
+
+import BruteForce.BruteForceAlgorithm;
+import Dilation.BestOrientation;
+import Dilation.OrientedDilation;
+import Points.Point;
+import Points.PointGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SATTest {
+
+    @Test
+    public void exactSearchTest() {
+        for (int n = 3; n <= 6; n++) {
+            for (int r = 0; r < 3; r++) {
+                List<Point> points = PointGenerator.generateUniquePoints(n);
+                SAT model = new SAT(points);
+
+                assertEquals(BruteForceAlgorithm.bruteForce(points), model.exactSearch()[0], 1e-9,
+                        "The calculated dilation is not minimal for " + points);
+                checkBestOrientation(points, model.getBestOrientation());
+            }
+        }
+    }
+
+    @Test
+    public void binarySearchTest() {
+        for (int n = 3; n <= 6; n++) {
+            List<Point> points = PointGenerator.generateUniquePoints(n);
+            SAT model = new SAT(points);
+            double[] result = model.binarySearch();
+
+            //the search stops 0.0001 above the optimum and rounds the result
+            assertEquals(BruteForceAlgorithm.bruteForce(points), result[0], 2e-4,
+                    "The calculated dilation is not minimal for " + points);
+            assertTrue(result[1] >= 3 && result[1] <= n, "Wrong cycle length " + result[1]);
+            checkBestOrientation(points, model.getBestOrientation());
+        }
+    }
+
+    @Test
+    public void cycleLengthTest() {
+        for (int n = 4; n <= 6; n++) {
+            for (int r = 0; r < 3; r++) {
+                List<Point> points = PointGenerator.generateUniquePoints(n);
+
+                //the length must not depend on the start solution
+                double[] withHeuristic = new SAT(points).exactSearch();
+                double[] withoutHeuristic = new SAT(points).exactSearch(new BestOrientation(null, 99999));
+
+                assertEquals(withoutHeuristic[0], withHeuristic[0], 1e-9);
+                assertEquals(withoutHeuristic[1], withHeuristic[1], "Different cycle lengths for " + points);
+            }
+        }
+    }
+
+    @Test
+    public void optimalHeuristicCycleLengthTest() {
+        //ApproxBrute is already optimal here, the critical cycle's ratio is rounded 1 ulp above its dilation
+        List<Point> points = Arrays.asList(
+                new Point(0.732, 0.884),
+                new Point(0.075, 0.292),
+                new Point(0.636, 0.95),
+                new Point(0.757, 0.345),
+                new Point(0.335, 0.975),
+                new Point(0.297, 0.38)
+        );
+
+        assertEquals(4, new SAT(points).exactSearch(new BestOrientation(null, 99999))[1]);
+        assertEquals(4, new SAT(points).exactSearch()[1]);
+        assertEquals(4, new SAT(points).binarySearch()[1]);
+    }
+
+    @Test
+    public void squareTest() {
+        List<Point> points = Arrays.asList(
+                new Point(1, 0),
+                new Point(1, 1),
+                new Point(0, 0),
+                new Point(0, 1)
+        );
+
+        assertEquals(1.1716, new SAT(points).binarySearch()[0], 2e-4);
+        assertEquals(1.1716, new SAT34(points).binarySearch(), 2e-4);
+        assertEquals(1.17157287525381, new SAT(points).exactSearch()[0], 1e-9);
+        assertEquals(1.17157287525381, new SAT34(points).exactSearch(), 1e-9);
+    }
+
+    @Test
+    public void sat34Test() {
+        for (int n = 4; n <= 7; n++) {
+            List<Point> points = PointGenerator.generateUniquePoints(n);
+            SAT34 model = new SAT34(points);
+            double optimum = BruteForceAlgorithm.bruteForce(points);
+
+            //with only 3 and 4 edges the model can miss the optimum for more than 4 points, but never beat it
+            double dilation = model.exactSearch();
+            if (n == 4) {
+                assertEquals(optimum, dilation, 1e-9, "The calculated dilation is not minimal for " + points);
+            }
+            assertTrue(dilation >= optimum - 1e-9, "Dilation below the optimum for " + points);
+            checkBestOrientation(points, model.getBestOrientation());
+        }
+    }
+
+    @Test
+    public void threePointsTest() {
+        List<Point> points = PointGenerator.generateUniquePoints(3);
+
+        //the model for cycles with 4 edges also exists for 3 points
+        assertEquals(1.0, new SAT34(points).binarySearch(), 2e-4);
+    }
+
+    @Test
+    public void reuseModelTest() {
+        List<Point> points = PointGenerator.generateUniquePoints(5);
+        SAT34 model = new SAT34(points);
+
+        //the same model is solved for decreasing and increasing t,
+        //with a large t every edge of the regular tournament lies on a directed triangle
+        assertNotNull(model.solveSAT(10.0, 4));
+        assertNull(model.solveSAT(0.9, 4));
+        assertNotNull(model.solveSAT(10.0, 4));
+    }
+
+    @Test
+    public void solveSATTest() {
+        List<Point> points = PointGenerator.generateUniquePoints(5);
+        SAT model = new SAT(points);
+
+        //every point set has an orientation with dilation at most 2, but none below 1
+        assertNotNull(model.solveSAT(2.0, 5));
+        assertNull(model.solveSAT(0.9, 5));
+        checkBestOrientation(points, model.getBestOrientation());
+    }
+
+    private static void checkBestOrientation(List<Point> points, BestOrientation best) {
+        assertNotNull(best.orientation());
+        assertEquals(best.dilation(), OrientedDilation.calculateOrientedDilation(points, best.orientation()), 1e-9,
+                "Wrong dilation of the best orientation for " + points);
+    }
+}
@@ -0,0 +1,73 @@
+package Orientation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitOrientationTest {
+
+    @Test
+    public void fromStringTest() {
+        String bitString = "0110011011";
+        BitOrientation orientation = BitOrientation.fromString(bitString, 5);
+
+        assertEquals(10, orientation.length());
+        assertEquals(bitString, orientation.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> BitOrientation.fromString("01100", 5));
+        assertThrows(IllegalArgumentException.class, () -> BitOrientation.fromString("0110021011", 5));
+    }
+
+    @Test
+    public void indexTest() {
+        BitOrientation orientation = new BitOrientation(4);
+
+        assertEquals(0, orientation.index(0, 1));
+        assertEquals(1, orientation.index(0, 2));
+        assertEquals(2, orientation.index(0, 3));
+        assertEquals(3, orientation.index(1, 2));
+        assertEquals(4, orientation.index(1, 3));
+        assertEquals(5, orientation.index(2, 3));
+    }
+
+    @Test
+    public void hasEdgeTest() {
+        //0->1, 2->0, 0->3, 1->2, 3->1, 2->3
+        BitOrientation orientation = BitOrientation.fromString("101101", 4);
+
+        assertTrue(orientation.hasEdge(0, 1));
+        assertFalse(orientation.hasEdge(1, 0));
+        assertTrue(orientation.hasEdge(2, 0));
+        assertTrue(orientation.hasEdge(3, 1));
+
+        orientation.flip(1, 3);
+        assertTrue(orientation.hasEdge(1, 3));
+        assertEquals("101111", orientation.toString());
+    }
+
+    @Test
+    public void setValueTest() {
+        BitOrientation orientation = new BitOrientation(5);
+
+        for (long value : new long[]{0, 1, 64, 959, 1023}) {
+            orientation.setValue(value);
+            String expected = String.format("%10s", Long.toBinaryString(value)).replace(' ', '0');
+
+            assertEquals(expected, orientation.toString(), "Wrong bits for " + value);
+            assertEquals(value, orientation.getValue());
+        }
+    }
+
+    @Test
+    public void largeOrientationTest() {
+        //more than one word
+        BitOrientation orientation = new BitOrientation(20);
+        int index = orientation.index(15, 19);
+        orientation.set(index, true);
+
+        assertTrue(orientation.get(index));
+        assertTrue(orientation.hasEdge(15, 19));
+        assertEquals(orientation, orientation.copy());
+        assertThrows(IllegalStateException.class, orientation::getValue);
+    }
+}
@@ -1,8 +1,12 @@
 package TwoApproximation;
 
+import BruteForce.BranchAndBound;
+import Dilation.BestOrientation;
 import Dilation.OrientedDilation;
 import GreedyVersions.TwoApproxTwo;
+import Orientation.BitOrientation;
 import Points.Point;
+import Points.PointGenerator;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.*;
@@ -190,4 +194,54 @@ public class TwoApproximationTest {
         double size = Math.pow(2,6);
         assertEquals(size,results.size());
     }
+
+    @Test
+    public void visitCompletionsTest() {
+        int [][] orientationMatrix = {
+                {INF,  1 , INF, 0},   //edges 0->1 and 3->0 oriented
+                {INF, INF, INF, INF},
+                {INF, INF, INF, 1},   //edge 2->3 oriented
+                {INF, INF, INF, INF},
+        };
+
+        Set<String> completions = new HashSet<>();
+        ApproxBrute.visitCompletions(orientationMatrix, orientation -> {
+            assertTrue(orientation.hasEdge(0, 1));
+            assertTrue(orientation.hasEdge(3, 0));
+            assertTrue(orientation.hasEdge(2, 3));
+            completions.add(orientation.toString());
+        });
+
+        assertEquals(8, completions.size());
+        assertEquals(completions, new HashSet<>(ApproxBrute.generateAllAdjacencyMatrixStrings(orientationMatrix)));
+    }
+
+    @Test
+    public void prunedCompletionSearchTest() {
+        for (int r = 0; r < 5; r++) {
+            List<Point> points = PointGenerator.generateUniquePoints(7);
+            int[][] orientationMatrix = ApproxBrute.orientTriangles(points);
+
+            //the best completion of all completions
+            double[] minDilation = {INF};
+            ApproxBrute.visitCompletions(orientationMatrix, orientation -> minDilation[0] =
+                    Math.min(minDilation[0], OrientedDilation.calculateOrientedDilation(points, orientation)));
+
+            BestOrientation best = new BranchAndBound(points, orientationMatrix)
+                    .solve(new BestOrientation(null, INF));
+
+            assertEquals(minDilation[0], best.dilation(), 1e-9);
+            assertEquals(best.dilation(), OrientedDilation.calculateOrientedDilation(points, best.orientation()), 1e-9);
+
+            //the completion keeps the oriented edges
+            BitOrientation orientation = best.orientation();
+            for (int i = 0; i < 7; i++) {
+                for (int j = i + 1; j < 7; j++) {
+                    if (orientationMatrix[i][j] != INF) {
+                        assertEquals(orientationMatrix[i][j] == 1, orientation.hasEdge(i, j));
+                    }
+                }
+            }
+        }
+    }
 }